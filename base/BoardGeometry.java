@@ -0,0 +1,554 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Shape of a peg solitaire board: which cells of a width x height grid are holes, which way pegs jump,
+ * and everything derived from that (move table, symmetry group, validity masks).
+ * Cell (r, c) is bit r * width + c. Boards of up to 64 cells are single longs; larger ones are long[] words
+ * with cell i in bit i % 64 of word i / 64 (see the long[] overloads).
+ */
+public final class BoardGeometry {
+
+    public enum Adjacency {
+        // right, left, down, up: the order DFSSolver has always tried moves in
+        ORTHOGONAL(new int[][] {{0, 1}, {0, -1}, {1, 0}, {-1, 0}}),
+        // triangular boards drawn left-aligned: the two orthogonal axes plus one diagonal
+        TRIANGULAR(new int[][] {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {1, 1}, {-1, -1}});
+
+        private final int[][] directions;
+
+        Adjacency(int[][] directions) {
+            this.directions = directions;
+        }
+    }
+
+    // candidate symmetries as linear maps {a, b, c, d} of (row, column) to (a*row + b*column, c*row + d*column),
+    // identity first; the first eight are the square-grid transforms numbered like solver.Symmetry, then every
+    // other invertible map with entries in -1..1, which is where the extra symmetries of triangular boards come from;
+    // declared before ENGLISH and EUROPEAN, whose constructors read it
+    private static final int[][] LINEAR_MAPS;
+
+    static {
+        List<int[]> maps = new ArrayList<>(List.of(
+                new int[] {1, 0, 0, 1}, new int[] {0, 1, -1, 0}, new int[] {-1, 0, 0, -1}, new int[] {0, -1, 1, 0},
+                new int[] {1, 0, 0, -1}, new int[] {-1, 0, 0, 1}, new int[] {0, 1, 1, 0}, new int[] {0, -1, -1, 0}));
+        int square = maps.size();
+        for (int a = -1; a <= 1; a++) {
+            for (int b = -1; b <= 1; b++) {
+                for (int c = -1; c <= 1; c++) {
+                    for (int d = -1; d <= 1; d++) {
+                        int[] map = {a, b, c, d};
+                        if (Math.abs(a * d - b * c) == 1 && maps.subList(0, square).stream().noneMatch(m -> Arrays.equals(m, map))) {
+                            maps.add(map);
+                        }
+                    }
+                }
+            }
+        }
+        LINEAR_MAPS = maps.toArray(new int[0][]);
+    }
+
+    public static final BoardGeometry ENGLISH = of(Adjacency.ORTHOGONAL,
+            "..ooo..",
+            "..ooo..",
+            "ooooooo",
+            "ooooooo",
+            "ooooooo",
+            "..ooo..",
+            "..ooo..");
+
+    public static final BoardGeometry EUROPEAN = of(Adjacency.ORTHOGONAL,
+            "..ooo..",
+            ".ooooo.",
+            "ooooooo",
+            "ooooooo",
+            "ooooooo",
+            ".ooooo.",
+            "..ooo..");
+
+    private final Adjacency adjacency;
+    private final int width;
+    private final int height;
+    private final int words;
+    private final boolean[] hole;
+    private final int holeCount;
+
+    // move i jumps from moveFrom[i] over moveJumped[i] to moveTo[i] (cell indices)
+    private final int[] moveFrom;
+    private final int[] moveJumped;
+    private final int[] moveTo;
+
+    // symmetries[t][cell] = image of the cell under symmetry t, only those mapping holes and moves onto themselves
+    private final int[][] symmetries;
+
+    // single-long fast path, only filled when width * height <= 64
+    private final long holeMask;
+    private final long invalidMask;
+    private final long[] fromMask;
+    private final long[] jumpedMask;
+    private final long[] toMask;
+    // byteTables[t][k << 8 | b] = image under symmetry t of byte k of a board with value b
+    private final long[][] byteTables;
+
+    private BoardGeometry(Adjacency adjacency, String[] rows) {
+        this.adjacency = adjacency;
+        height = rows.length;
+        width = rows.length > 0 ? rows[0].length() : 0;
+        if (width == 0) {
+            throw new IllegalArgumentException("Empty board");
+        }
+        int cells = width * height;
+        words = (cells + Long.SIZE - 1) / Long.SIZE;
+        hole = new boolean[cells];
+        int count = 0;
+        for (int r = 0; r < height; r++) {
+            if (rows[r].length() != width) {
+                throw new IllegalArgumentException("Row " + r + " is not " + width + " cells wide");
+            }
+            for (int c = 0; c < width; c++) {
+                char ch = rows[r].charAt(c);
+                if (ch != 'o' && ch != '.') {
+                    throw new IllegalArgumentException("Unexpected '" + ch + "', use 'o' for holes and '.' for no cell");
+                }
+                hole[r * width + c] = ch == 'o';
+                count += ch == 'o' ? 1 : 0;
+            }
+        }
+        holeCount = count;
+
+        List<int[]> moves = new ArrayList<>();
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                for (int[] d : adjacency.directions) {
+                    int r2 = r + 2 * d[0];
+                    int c2 = c + 2 * d[1];
+                    if (r2 < 0 || r2 >= height || c2 < 0 || c2 >= width) {
+                        continue;
+                    }
+                    int from = r * width + c;
+                    int jumped = (r + d[0]) * width + c + d[1];
+                    int to = r2 * width + c2;
+                    if (hole[from] && hole[jumped] && hole[to]) {
+                        moves.add(new int[] {from, jumped, to});
+                    }
+                }
+            }
+        }
+        moveFrom = moves.stream().mapToInt(m -> m[0]).toArray();
+        moveJumped = moves.stream().mapToInt(m -> m[1]).toArray();
+        moveTo = moves.stream().mapToInt(m -> m[2]).toArray();
+
+        List<int[]> found = new ArrayList<>();
+        for (int[] linear : LINEAR_MAPS) {
+            int[] map = symmetryCandidate(linear);
+            if (map != null && preservesMoves(map)) {
+                found.add(map);
+            }
+        }
+        symmetries = found.toArray(new int[0][]);
+
+        if (cells <= Long.SIZE) {
+            long holes = 0L;
+            for (int i = 0; i < cells; i++) {
+                holes |= hole[i] ? 1L << i : 0L;
+            }
+            holeMask = holes;
+            invalidMask = ~holes & (cells == Long.SIZE ? -1L : (1L << cells) - 1);
+            fromMask = new long[moveFrom.length];
+            jumpedMask = new long[moveFrom.length];
+            toMask = new long[moveFrom.length];
+            for (int i = 0; i < moveFrom.length; i++) {
+                fromMask[i] = 1L << moveFrom[i];
+                jumpedMask[i] = 1L << moveJumped[i];
+                toMask[i] = 1L << moveTo[i];
+            }
+            byteTables = new long[symmetries.length][Long.BYTES << 8];
+            for (int t = 0; t < symmetries.length; t++) {
+                for (int k = 0; k < Long.BYTES; k++) {
+                    for (int b = 0; b < 256; b++) {
+                        long image = 0L;
+                        for (int bit = 0; bit < 8; bit++) {
+                            int cell = k * 8 + bit;
+                            if ((b & (1 << bit)) != 0 && cell < cells) {
+                                image |= 1L << symmetries[t][cell];
+                            }
+                        }
+                        byteTables[t][k << 8 | b] = image;
+                    }
+                }
+            }
+        } else {
+            holeMask = 0L;
+            invalidMask = 0L;
+            fromMask = null;
+            jumpedMask = null;
+            toMask = null;
+            byteTables = null;
+        }
+    }
+
+    /**
+     * @param adjacency directions pegs jump in
+     * @param rows one string per grid row, 'o' for a hole and '.' for a cell that is not part of the board
+     */
+    public static BoardGeometry of(Adjacency adjacency, String... rows) {
+        return new BoardGeometry(adjacency, rows);
+    }
+
+    /**
+     * triangular board with the given number of rows (5 gives the 15-hole triangle), row r holding r + 1 holes
+     */
+    public static BoardGeometry triangular(int rows) {
+        String[] grid = new String[rows];
+        for (int r = 0; r < rows; r++) {
+            grid[r] = "o".repeat(r + 1) + ".".repeat(rows - r - 1);
+        }
+        return of(Adjacency.TRIANGULAR, grid);
+    }
+
+    /**
+     * @return the cell map of the linear map, shifted so the holes keep their bounding box; null if the map does
+     *         not permute the jump directions or does not map the holes onto themselves. Cells that are not holes
+     *         stay where they are, no move ever touches them
+     */
+    private int[] symmetryCandidate(int[] linear) {
+        for (int[] d : adjacency.directions) {
+            int dr = linear[0] * d[0] + linear[1] * d[1];
+            int dc = linear[2] * d[0] + linear[3] * d[1];
+            if (Arrays.stream(adjacency.directions).noneMatch(e -> e[0] == dr && e[1] == dc)) {
+                return null;
+            }
+        }
+        int minR = Integer.MAX_VALUE;
+        int minC = Integer.MAX_VALUE;
+        int imageMinR = Integer.MAX_VALUE;
+        int imageMinC = Integer.MAX_VALUE;
+        for (int cell = 0; cell < hole.length; cell++) {
+            if (hole[cell]) {
+                int r = cell / width;
+                int c = cell % width;
+                minR = Math.min(minR, r);
+                minC = Math.min(minC, c);
+                imageMinR = Math.min(imageMinR, linear[0] * r + linear[1] * c);
+                imageMinC = Math.min(imageMinC, linear[2] * r + linear[3] * c);
+            }
+        }
+        int[] map = new int[width * height];
+        for (int cell = 0; cell < map.length; cell++) {
+            map[cell] = cell;
+            if (!hole[cell]) {
+                continue;
+            }
+            int r = cell / width;
+            int c = cell % width;
+            int imageR = linear[0] * r + linear[1] * c - imageMinR + minR;
+            int imageC = linear[2] * r + linear[3] * c - imageMinC + minC;
+            if (imageR >= height || imageC >= width || !hole[imageR * width + imageC]) {
+                return null;
+            }
+            map[cell] = imageR * width + imageC;
+        }
+        return map;
+    }
+
+    private boolean preservesMoves(int[] map) {
+        for (int i = 0; i < moveFrom.length; i++) {
+            if (findMove(map[moveFrom[i]], map[moveJumped[i]], map[moveTo[i]]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int findMove(int from, int jumped, int to) {
+        for (int i = 0; i < moveFrom.length; i++) {
+            if (moveFrom[i] == from && moveJumped[i] == jumped && moveTo[i] == to) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    // number of holes
+    public int holes() {
+        return holeCount;
+    }
+
+    // longs per board in the multi-word representation
+    public int words() {
+        return words;
+    }
+
+    // true if a board fits in one long and the single-long methods can be used
+    public boolean fitsInLong() {
+        return byteTables != null;
+    }
+
+    public boolean isHole(int cell) {
+        return cell >= 0 && cell < hole.length && hole[cell];
+    }
+
+    public int moveCount() {
+        return moveFrom.length;
+    }
+
+    public int moveFrom(int move) {
+        return moveFrom[move];
+    }
+
+    public int moveJumped(int move) {
+        return moveJumped[move];
+    }
+
+    public int moveTo(int move) {
+        return moveTo[move];
+    }
+
+    public int symmetryCount() {
+        return symmetries.length;
+    }
+
+    // ---- single-long boards (width * height <= 64) ----
+
+    public long holeMask() {
+        requireLong();
+        return holeMask;
+    }
+
+    // grid cells that are not holes; a board with a peg there is invalid
+    public long invalidMask() {
+        requireLong();
+        return invalidMask;
+    }
+
+    public long fromMask(int move) {
+        requireLong();
+        return fromMask[move];
+    }
+
+    public long jumpedMask(int move) {
+        requireLong();
+        return jumpedMask[move];
+    }
+
+    public long toMask(int move) {
+        requireLong();
+        return toMask[move];
+    }
+
+    public boolean canJump(long board, int move) {
+        requireLong();
+        return (board & fromMask[move]) != 0 && (board & jumpedMask[move]) != 0 && (board & toMask[move]) == 0;
+    }
+
+    public long jump(long board, int move) {
+        requireLong();
+        return board ^ (fromMask[move] | jumpedMask[move] | toMask[move]);
+    }
+
+    /**
+     * @return true if after follows from before by exactly one move of this board
+     */
+    public boolean isMove(long before, long after) {
+        requireLong();
+        long changed = before ^ after;
+        if (Long.bitCount(changed) != 3) {
+            return false;
+        }
+        for (int i = 0; i < moveFrom.length; i++) {
+            if ((fromMask[i] | jumpedMask[i] | toMask[i]) == changed && canJump(before, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long transform(long board, int symmetry) {
+        long[] table = byteTables[symmetry];
+        long result = 0L;
+        for (int k = 0; k < Long.BYTES; k++) {
+            result |= table[k << 8 | (int) (board >>> (k * 8)) & 0xFF];
+        }
+        return result;
+    }
+
+    // smallest image of the board over the symmetry group
+    public long canonical(long board) {
+        long best = board;
+        for (int t = 1; t < symmetries.length; t++) {
+            best = Math.min(best, transform(board, t));
+        }
+        return best;
+    }
+
+    /**
+     * @return the symmetries that leave the board unchanged, identity first; a subgroup of the board's group
+     */
+    public int[] stabilizer(long board) {
+        return IntStream.range(0, symmetries.length).filter(t -> transform(board, t) == board).toArray();
+    }
+
+    // smallest image of the board over a subgroup, e.g. a stabilizer
+    public long canonical(long board, int[] group) {
+        long best = board;
+        for (int t : group) {
+            if (t != 0) {
+                best = Math.min(best, transform(board, t));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the symmetry that undoes the given one
+     */
+    public int inverse(int symmetry) {
+        int[] map = symmetries[symmetry];
+        for (int t = 0; t < symmetries.length; t++) {
+            int[] other = symmetries[t];
+            boolean undoes = true;
+            for (int cell = 0; cell < map.length && undoes; cell++) {
+                undoes = !hole[cell] || other[map[cell]] == cell;
+            }
+            if (undoes) {
+                return t;
+            }
+        }
+        throw new IllegalStateException("Symmetry " + symmetry + " has no inverse");
+    }
+
+    private void requireLong() {
+        if (byteTables == null) {
+            throw new IllegalStateException(width + "x" + height + " board does not fit in a long, use the long[] methods");
+        }
+    }
+
+    // ---- multi-word boards (any size) ----
+
+    public long[] emptyBoard() {
+        return new long[words];
+    }
+
+    public static boolean hasPeg(long[] board, int cell) {
+        return (board[cell >>> 6] & 1L << cell) != 0;
+    }
+
+    public static void flip(long[] board, int cell) {
+        board[cell >>> 6] ^= 1L << cell;
+    }
+
+    public static int pegCount(long[] board) {
+        int count = 0;
+        for (long word : board) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public boolean canJump(long[] board, int move) {
+        return hasPeg(board, moveFrom[move]) && hasPeg(board, moveJumped[move]) && !hasPeg(board, moveTo[move]);
+    }
+
+    // applies the move in place; applying it again undoes it
+    public void jump(long[] board, int move) {
+        flip(board, moveFrom[move]);
+        flip(board, moveJumped[move]);
+        flip(board, moveTo[move]);
+    }
+
+    public boolean isMove(long[] before, long[] after) {
+        int changed = 0;
+        for (int w = 0; w < words; w++) {
+            changed += Long.bitCount(before[w] ^ after[w]);
+        }
+        if (changed != 3) {
+            return false;
+        }
+        for (int i = 0; i < moveFrom.length; i++) {
+            if (canJump(before, i) && hasPeg(after, moveTo[i]) && !hasPeg(after, moveFrom[i]) && !hasPeg(after, moveJumped[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // true if every peg sits on a hole
+    public boolean isValid(long[] board) {
+        for (int w = 0; w < words; w++) {
+            for (long bits = board[w]; bits != 0; bits &= bits - 1) {
+                int cell = w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                if (!isHole(cell)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public long[] transform(long[] board, int symmetry) {
+        long[] result = new long[words];
+        int[] map = symmetries[symmetry];
+        for (int w = 0; w < words; w++) {
+            for (long bits = board[w]; bits != 0; bits &= bits - 1) {
+                flip(result, map[w * Long.SIZE + Long.numberOfTrailingZeros(bits)]);
+            }
+        }
+        return result;
+    }
+
+    // smallest image (comparing words from the highest down) over the symmetry group
+    public long[] canonical(long[] board) {
+        long[] best = board;
+        for (int t = 1; t < symmetries.length; t++) {
+            long[] image = transform(board, t);
+            if (compare(image, best) < 0) {
+                best = image;
+            }
+        }
+        return best == board ? board.clone() : best;
+    }
+
+    public int[] stabilizer(long[] board) {
+        return IntStream.range(0, symmetries.length).filter(t -> Arrays.equals(transform(board, t), board)).toArray();
+    }
+
+    public long[] canonical(long[] board, int[] group) {
+        long[] best = board;
+        for (int t : group) {
+            if (t != 0) {
+                long[] image = transform(board, t);
+                if (compare(image, best) < 0) {
+                    best = image;
+                }
+            }
+        }
+        return best == board ? board.clone() : best;
+    }
+
+    private static int compare(long[] a, long[] b) {
+        for (int w = a.length - 1; w >= 0; w--) {
+            if (a[w] != b[w]) {
+                return Long.compareUnsigned(a[w], b[w]);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + " board, " + holeCount + " holes, " + moveFrom.length + " moves, "
+                + symmetries.length + " symmetries";
+    }
+}
@@ -0,0 +1,18 @@
+package base;
+
+/**
+ * Flag a caller can raise from any thread to stop a running solveWithin; the solver notices it at its next budget check.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
@@ -1,5 +1,12 @@
 package base;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
 public interface IPegSolitaireSolver {
 
     /**
@@ -10,6 +17,89 @@ public interface IPegSolitaireSolver {
      */
     long[] solve(long initialBoard, long goalBoard);
 
+    /**
+     * same as solve, but also adds the search counters of this call to stats; solvers without instrumentation leave it untouched
+     * @param initialBoard initial state of the board
+     * @param goalBoard final state of the board
+     * @param stats counters to add to, or null to skip counting
+     * @return array of numbers, representing board states after each move
+     */
+    default long[] solve(long initialBoard, long goalBoard, SolverStats stats) {
+        return solve(initialBoard, goalBoard);
+    }
+
+    /**
+     * budgeted variant of solve: stops once the budget's deadline or node limit is reached or its token is cancelled,
+     * and then reports UNKNOWN instead of an empty (unreachable) solution; solvers without budget checks only look at the
+     * budget before they start
+     * @param initialBoard initial state of the board
+     * @param goalBoard final state of the board
+     * @param budget limits of this call, SearchBudget.UNLIMITED for none
+     * @param stats counters to add to, or null to skip counting
+     * @return the solution, UNREACHABLE, or UNKNOWN if the search was stopped
+     */
+    default SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        if (budget.exhausted(0)) {
+            return SolveResult.unknown();
+        }
+        return SolveResult.of(solve(initialBoard, goalBoard, stats));
+    }
+
+    /**
+     * same as solveWithin without counting
+     */
+    default SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget) {
+        return solveWithin(initialBoard, goalBoard, budget, null);
+    }
+
+    /**
+     * streaming variant of solve: hands the boards of the solution to the consumer in order as soon as the path is known,
+     * without building the result array; nothing is handed over when there is no solution
+     * @param initialBoard initial state of the board
+     * @param goalBoard final state of the board
+     * @param boards receives the board states, starting with initialBoard and ending with goalBoard
+     * @return true if a solution was found
+     */
+    default boolean solveStreaming(long initialBoard, long goalBoard, LongConsumer boards) {
+        long[] solution = solve(initialBoard, goalBoard);
+        for (long board : solution) {
+            boards.accept(board);
+        }
+        return solution.length > 0;
+    }
+
+    /**
+     * "first move now, rest later": the iterator yields the boards of the solution, and solvers that can pick the next
+     * board without knowing the whole path compute each one only when it is requested; empty if there is no solution
+     * @param initialBoard initial state of the board
+     * @param goalBoard final state of the board
+     * @return the board states, starting with initialBoard and ending with goalBoard
+     */
+    default PrimitiveIterator.OfLong solveLazily(long initialBoard, long goalBoard) {
+        return Arrays.stream(solve(initialBoard, goalBoard)).iterator();
+    }
+
+    /**
+     * solves a batch of start/goal pairs; a pair that occurs more than once is solved only once
+     * @param initialBoards initial states of the boards
+     * @param goalBoards final states of the boards, one per initial state
+     * @return one solution per pair, in the same order as the input
+     */
+    default long[][] solveAll(long[] initialBoards, long[] goalBoards) {
+        if (initialBoards.length != goalBoards.length) {
+            throw new IllegalArgumentException("Expected as many goal boards as initial boards");
+        }
+        long[][] solutions = new long[initialBoards.length][];
+        Map<List<Long>, long[]> solved = new HashMap<>();
+        for (int i = 0; i < initialBoards.length; i++) {
+            long initialBoard = initialBoards[i];
+            long goalBoard = goalBoards[i];
+            long[] solution = solved.computeIfAbsent(List.of(initialBoard, goalBoard), pair -> solve(initialBoard, goalBoard));
+            solutions[i] = solution.clone();
+        }
+        return solutions;
+    }
+
     /**
      * method to give your name and surname as a String array
      * @return string array of your name and surname
@@ -0,0 +1,59 @@
+package base;
+
+import java.util.Locale;
+
+/**
+ * Moves of one board shape (at most 64 cells) checked in bulk: every successor of a board, or every step of a solution.
+ * The scalar engine runs one move at a time; the vector engine (jdk.incubator.vector) tests a whole vector of moves
+ * per instruction. It is opt-in: built by the vector profile (mvn -P vector), started with
+ * --add-modules jdk.incubator.vector and selected with -Dpegsolitaire.moves=vector. Without any of these the
+ * scalar engine is used.
+ */
+public interface MoveEngine {
+
+    String PROPERTY = "pegsolitaire.moves";
+
+    /**
+     * @param out receives the boards one move away, in the geometry's move order; room for moveCount() boards
+     * @return number of boards written
+     */
+    int successors(long board, long[] out);
+
+    /**
+     * @return index i of the first pair solution[i], solution[i + 1] that is not one move apart, -1 if there is none
+     */
+    int firstInvalidStep(long[] solution);
+
+    boolean vectorized();
+
+    /**
+     * @return the engine chosen by the pegsolitaire.moves property, scalar if the vector engine is not available
+     */
+    static MoveEngine forGeometry(BoardGeometry geometry) {
+        if (System.getProperty(PROPERTY, "scalar").toLowerCase(Locale.ROOT).equals("vector")) {
+            try {
+                return vector(geometry);
+            } catch (UnsupportedOperationException e) {
+                return scalar(geometry);
+            }
+        }
+        return scalar(geometry);
+    }
+
+    static MoveEngine scalar(BoardGeometry geometry) {
+        return new ScalarMoveEngine(geometry);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the engine was not built or jdk.incubator.vector is not loaded
+     */
+    static MoveEngine vector(BoardGeometry geometry) {
+        try {
+            return (MoveEngine) Class.forName("base.VectorMoveEngine")
+                    .getDeclaredConstructor(BoardGeometry.class)
+                    .newInstance(geometry);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UnsupportedOperationException("Vector engine needs mvn -P vector and --add-modules jdk.incubator.vector", e);
+        }
+    }
+}
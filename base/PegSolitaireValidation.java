@@ -4,57 +4,482 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PegSolitaireValidation {
 
+    // cases a --corpus worker claims at a time
+    private static final int CORPUS_BLOCK = 256;
+    private static final int MAX_LISTED_FAILURES = 20;
+    // ResultTestData error of a test that ran out of budget
+    private static final String TIMED_OUT = "Timed out";
+    // checks the steps of every solution, scalar unless -Dpegsolitaire.moves=vector
+    private static final MoveEngine ENGLISH_MOVES = MoveEngine.forGeometry(BoardGeometry.ENGLISH);
+
+    private static final String USAGE = """
+            Usage: PegSolitaireValidation [options]
+              --solver <name[,name...]>   solvers to run, by class name (default: DFSSolver)
+              --tests <folder>            folder with test cases (default: tests/public)
+              --repeat <n>                measured runs per test (default: 1)
+              --warmup <n>                unmeasured runs per test before measuring (default: 0)
+              --stats <file>              write per-test search counters as .json or .csv
+              --timeout <ms>              stop a solve after this long and report it as timed out
+              --max-nodes <n>             stop a solve after expanding this many nodes and report it as timed out
+              --stress <threads>          solve every test repeat times from that many threads sharing one solver instance
+              --parallel <threads>        run the warm-up and measured passes on a pool of threads, one solver instance per thread
+              --corpus <file>             solve every case of a binary corpus (see TestCorpusConverter) in parallel
+              --threads <n>               worker threads for --corpus (default: available processors)
+              --list                      print the registered solvers and exit""";
+
     public static void main(String[] args) {
 
-        String solverFileName = "DFSSolver";
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            System.out.println(USAGE);
+            return;
+        }
+        if (options.list()) {
+            SolverRegistry.names().forEach(System.out::println);
+            return;
+        }
 
-        List<TestData> allTests = readTests("tests/public").stream().sorted(Comparator.comparing(TestData::getId)).toList();
+        if (options.corpusFile() != null) {
+            runCorpus(options);
+            return;
+        }
 
-        int successCount = 0;
-        int failedCount = 0;
+        List<TestData> allTests = readTests(options.testsFolder()).stream().sorted(Comparator.comparing(TestData::getId)).toList();
+
+        List<SolverRun> runs = new ArrayList<>();
+        for (String solverFileName : options.solvers()) {
+            try {
+                if (options.parallelThreads() > 0) {
+                    runs.add(parallelTests(solverFileName, allTests, options));
+                    continue;
+                }
+                IPegSolitaireSolver instance = SolverRegistry.create(solverFileName);
+                if (options.stressThreads() > 0) {
+                    stressTest(solverFileName, instance, allTests, options);
+                    continue;
+                }
+                runs.add(runTests(solverFileName, instance, allTests, options));
+            } catch (ClassNotFoundException e) {
+                System.out.println("Class not found: " + getClassName(solverFileName));
+            } catch (Exception e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+        }
+        if (runs.size() > 1 || (runs.size() == 1 && options.repeat() > 1)) {
+            printComparison(runs);
+        }
+        if (options.statsFile() != null) {
+            try {
+                ResultExport.write(Path.of(options.statsFile()), runs.stream().map(SolverRun::result).toList());
+                System.out.println("Search statistics written to " + options.statsFile());
+            } catch (IOException e) {
+                System.out.println("Error writing " + options.statsFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static SolverRun runTests(String solverName, IPegSolitaireSolver instance, List<TestData> allTests, Options options) {
+        long[][] times = new long[allTests.size()][options.repeat()];
+        int[] steps = new int[allTests.size()];
+        String[] errors = new String[allTests.size()];
+        SolverStats[] stats = newStats(allTests.size());
+
+        System.out.println("---------------- TESTS STARTED ----------------");
+        if (options.solvers().size() > 1) {
+            System.out.println("Solver: " + solverName);
+        }
+        for (int t = 0; t < allTests.size(); t++) {
+            TestData test = allTests.get(t);
+            try {
+                System.out.printf("[%s]", test.getId());
+                long startPosition = test.getStart();
+                long endPosition = test.getGoal();
+                // warm-up runs get the same budget as measured ones, so a slow test cannot hang them
+                for (int i = 0; i < options.warmup(); i++) {
+                    instance.solveWithin(startPosition, endPosition, options.budget(), null);
+                }
+                for (int i = 0; i < options.repeat(); i++) {
+                    long start = System.nanoTime();
+                    // search counters come from the first measured run only
+                    SolveResult outcome = instance.solveWithin(startPosition, endPosition, options.budget(), i == 0 ? stats[t] : null);
+                    times[t][i] = System.nanoTime() - start;
+
+                    // out of budget is neither a pass nor a wrong answer
+                    if (outcome.getStatus() == SolveResult.Status.UNKNOWN) {
+                        if (i == 0) logResult("?", 0, 0, "Timed out after " + times[t][i] / 1_000_000 + " ms");
+                        errors[t] = TIMED_OUT;
+                        break;
+                    }
+                    long[] solution = outcome.getSolution();
+
+                    // only the first measured run is logged, later runs are checked silently
+                    if (!validateSolution(solution, startPosition, endPosition, test.isReachable(), i == 0, times[t][i] / 1_000_000)) {
+                        errors[t] = "Invalid solution";
+                        break;
+                    }
+                    steps[t] = Math.max(0, solution.length - 1);
+                }
+            } catch (Exception e) {
+                logResult("-", 0, 0, "Error: " + e.getMessage());
+                errors[t] = "Error: " + e.getMessage();
+            }
+        }
+        return collect(solverName, instance, allTests, times, steps, errors, stats);
+    }
 
+    // warm-up passes, then repeat measured passes; each pass is spread over a pool with one solver instance per worker
+    private static SolverRun parallelTests(String solverName, List<TestData> allTests, Options options) throws Exception {
+        int threads = options.parallelThreads();
+        BlockingQueue<IPegSolitaireSolver> instances = new ArrayBlockingQueue<>(threads);
+        for (int i = 0; i < threads; i++) {
+            instances.add(SolverRegistry.create(solverName));
+        }
+        long[][] times = new long[allTests.size()][options.repeat()];
+        int[] steps = new int[allTests.size()];
+        String[] errors = new String[allTests.size()];
+        SolverStats[] stats = newStats(allTests.size());
+
+        System.out.println("---------------- TESTS STARTED ----------------");
+        System.out.printf("Solver: %s (%d workers, %d warm-up and %d measured passes)%n", solverName, threads, options.warmup(), options.repeat());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
         try {
-            Class<?> solverClass = Class.forName(getClassName(solverFileName));
-            if (IPegSolitaireSolver.class.isAssignableFrom(solverClass)) {
-                IPegSolitaireSolver instance = (IPegSolitaireSolver) solverClass.getDeclaredConstructor().newInstance();
-                System.out.println("---------------- TESTS STARTED ----------------");
-                for (TestData test : allTests) {
-                    try {
-                        System.out.printf("[%s]", test.getId());
-                        long startPosition = test.getStart();
-                        long endPosition = test.getGoal();
-                        long start = System.nanoTime();
-                        long[] solution = instance.solve(startPosition, endPosition);
-                        long executionTime = (System.nanoTime() - start) / 1_000_000;
-
-                        if (validateSolution(solution, startPosition, endPosition, test.isReachable(), true, executionTime)) {
-                            successCount++;
-                        } else {
-                            failedCount++;
+            for (int pass = 0; pass < options.warmup() + options.repeat(); pass++) {
+                int run = pass - options.warmup();
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int t = 0; t < allTests.size(); t++) {
+                    int index = t;
+                    TestData test = allTests.get(t);
+                    tasks.add(() -> {
+                        // as many instances as workers, so this never waits
+                        IPegSolitaireSolver instance = instances.take();
+                        try {
+                            if (run < 0) {
+                                warmUp(instance, test, options);
+                            } else if (errors[index] == null) {
+                                measure(instance, test, options, run, index, times, steps, errors, stats);
+                            }
+                        } finally {
+                            instances.add(instance);
                         }
-                    } catch (Exception e) {
-                        logResult("-", 0, 0, "Error: " + e.getMessage());
-                        failedCount++;
-                    }
+                        return null;
+                    });
                 }
+                // passes are separated by invokeAll, so a pass sees what the previous one wrote to the arrays
+                Collections.shuffle(tasks, new Random(pass));
+                for (Future<Void> task : executor.invokeAll(tasks)) {
+                    task.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return collect(solverName, instances.peek(), allTests, times, steps, errors, stats);
+    }
+
+    private static void warmUp(IPegSolitaireSolver instance, TestData test, Options options) {
+        try {
+            instance.solveWithin(test.getStart(), test.getGoal(), options.budget(), null);
+        } catch (RuntimeException e) {
+            // the measured runs report it
+        }
+    }
+
+    private static void measure(IPegSolitaireSolver instance, TestData test, Options options, int run, int index,
+                                long[][] times, int[] steps, String[] errors, SolverStats[] stats) {
+        try {
+            long start = System.nanoTime();
+            SolveResult outcome = instance.solveWithin(test.getStart(), test.getGoal(), options.budget(), run == 0 ? stats[index] : null);
+            times[index][run] = System.nanoTime() - start;
+            if (outcome.getStatus() == SolveResult.Status.UNKNOWN) {
+                errors[index] = TIMED_OUT;
+            } else if (!validateSolution(outcome.getSolution(), test.getStart(), test.getGoal(), test.isReachable(), false, 0)) {
+                errors[index] = "Invalid solution";
             } else {
-                System.out.println("Solution class does not implement IPegSolitaireSolver!");
+                steps[index] = Math.max(0, outcome.getSolution().length - 1);
             }
-        } catch (ClassNotFoundException e) {
-            System.out.println("Class not found: " + getClassName(solverFileName));
-        } catch (Exception e) {
-            System.out.println("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            errors[index] = "Error: " + e.getMessage();
+        }
+    }
+
+    private static SolverStats[] newStats(int count) {
+        SolverStats[] stats = new SolverStats[count];
+        for (int i = 0; i < count; i++) {
+            stats[i] = new SolverStats();
+        }
+        return stats;
+    }
+
+    // fills ResultData from the per-test arrays (error null = passed) and prints the summary
+    private static SolverRun collect(String solverName, IPegSolitaireSolver instance, List<TestData> allTests,
+                                     long[][] times, int[] steps, String[] errors, SolverStats[] stats) {
+        int successCount = 0;
+        int failedCount = 0;
+        int timedOutCount = 0;
+        List<TestRun> testRuns = new ArrayList<>();
+        String[] personalData = instance.personalData();
+        ResultData result = new ResultData(personalData.length > 0 ? personalData[0] : "", personalData.length > 1 ? personalData[1] : "");
+        result.setSolver(solverName);
+        // only tests whose every repetition completed are timed
+        List<long[]> measured = new ArrayList<>();
+
+        for (int t = 0; t < allTests.size(); t++) {
+            boolean timedOut = TIMED_OUT.equals(errors[t]);
+            if (timedOut) {
+                timedOutCount++;
+            } else if (errors[t] == null) {
+                successCount++;
+                measured.add(times[t]);
+            } else {
+                failedCount++;
+            }
+            String id = allTests.get(t).getId();
+            testRuns.add(new TestRun(id, times[t], steps[t], timedOut ? "timeout" : errors[t] == null ? "pass" : "fail"));
+
+            ResultData.ResultTestData testResult = new ResultData.ResultTestData(times[t][0] / 1_000_000);
+            testResult.setId(id);
+            testResult.setSteps(steps[t]);
+            testResult.setError(errors[t]);
+            testResult.setStats(stats[t]);
+            if (errors[t] == null) {
+                testResult.setTiming(TimingStats.of(times[t]));
+            }
+            result.addResult(testResult);
+        }
+        result.setSuccessCount(successCount);
+        result.setFailedCount(failedCount);
+        result.setTimedOutCount(timedOutCount);
+        result.setAverageExecutionTime();
+        if (!measured.isEmpty()) {
+            result.setTiming(TimingStats.of(measured.stream().flatMapToLong(Arrays::stream).toArray()));
         }
         System.out.println("---------------- TEST SUMMARY ----------------");
         System.out.println("Passed: " + successCount + "/" + allTests.size() + " tests.");
         System.out.println("Failed: " + failedCount + "/" + allTests.size() + " tests.");
+        if (timedOutCount > 0) {
+            System.out.println("Timed out: " + timedOutCount + "/" + allTests.size() + " tests.");
+        }
         System.out.println("--------------- TESTS FINISHED ---------------");
+        return new SolverRun(solverName, testRuns, result);
+    }
+
+    // one shared instance, many threads, every result validated: catches solvers that keep per-call state in fields
+    private static void stressTest(String solverName, IPegSolitaireSolver instance, List<TestData> allTests, Options options) throws InterruptedException {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < options.repeat(); i++) {
+            for (TestData test : allTests) {
+                tasks.add(() -> {
+                    long[] solution = instance.solve(test.getStart(), test.getGoal());
+                    return validateSolution(solution, test.getStart(), test.getGoal(), test.isReachable(), false, 0);
+                });
+            }
+        }
+        // interleave different tests so concurrent calls work on different goals
+        Collections.shuffle(tasks, new Random(42));
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.stressThreads());
+        int failed = 0;
+        long start = System.nanoTime();
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                try {
+                    if (!result.get()) {
+                        failed++;
+                    }
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%s: %d/%d concurrent solves valid (%d threads, %d ms)%n",
+                solverName, tasks.size() - failed, tasks.size(), options.stressThreads(), elapsed);
+    }
+
+    private static void runCorpus(Options options) {
+        TestCorpus corpus;
+        try {
+            corpus = TestCorpus.open(Path.of(options.corpusFile()));
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error reading " + options.corpusFile() + ": " + e.getMessage());
+            return;
+        }
+        for (String solverFileName : options.solvers()) {
+            try {
+                corpusTest(solverFileName, SolverRegistry.create(solverFileName), corpus, options);
+            } catch (ClassNotFoundException e) {
+                System.out.println("Class not found: " + getClassName(solverFileName));
+            } catch (Exception e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+        }
+    }
+
+    // workers claim blocks of case indices and read them straight from the mapped file; only failures are kept
+    private static void corpusTest(String solverName, IPegSolitaireSolver instance, TestCorpus corpus, Options options) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        LongAdder passed = new LongAdder();
+        LongAdder timedOut = new LongAdder();
+        LongAdder solveNanos = new LongAdder();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        Callable<Void> worker = () -> {
+            for (int from = next.getAndAdd(CORPUS_BLOCK); from < corpus.size(); from = next.getAndAdd(CORPUS_BLOCK)) {
+                int to = Math.min(corpus.size(), from + CORPUS_BLOCK);
+                for (int i = from; i < to; i++) {
+                    long start = corpus.start(i);
+                    long end = corpus.goal(i);
+                    try {
+                        long time = System.nanoTime();
+                        SolveResult outcome = instance.solveWithin(start, end, options.budget(), null);
+                        solveNanos.add(System.nanoTime() - time);
+                        if (outcome.getStatus() == SolveResult.Status.UNKNOWN) {
+                            timedOut.increment();
+                        } else if (validateSolution(outcome.getSolution(), start, end, corpus.isReachable(i), false, 0)) {
+                            passed.increment();
+                        } else {
+                            failures.add(corpus.id(i) + ": Invalid solution");
+                        }
+                    } catch (RuntimeException e) {
+                        failures.add(corpus.id(i) + ": Error: " + e.getMessage());
+                    }
+                }
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads());
+        long start = System.nanoTime();
+        try {
+            executor.invokeAll(Collections.nCopies(options.threads(), worker));
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%s: %d passed, %d failed, %d timed out of %d cases (%d threads, %d ms, %.3f ms per solve)%n",
+                solverName, passed.sum(), failures.size(), timedOut.sum(), corpus.size(), options.threads(), elapsed,
+                corpus.size() == 0 ? 0.0 : solveNanos.sum() / 1e6 / corpus.size());
+        failures.stream().limit(MAX_LISTED_FAILURES).forEach(failure -> System.out.println("  " + failure));
+        if (failures.size() > MAX_LISTED_FAILURES) {
+            System.out.println("  ... and " + (failures.size() - MAX_LISTED_FAILURES) + " more");
+        }
+    }
+
+    private static void printComparison(List<SolverRun> runs) {
+        System.out.println("------------------ COMPARISON ------------------");
+        System.out.printf("%-22s %-6s %10s %10s %10s %10s %10s %10s %6s %7s%n",
+                "solver", "test", "min ms", "mean ms", "median ms", "p95 ms", "p99 ms", "stddev ms", "steps", "result");
+        for (SolverRun run : runs) {
+            for (TestRun test : run.tests()) {
+                printTiming(run.solver(), test.id(), TimingStats.of(test.times()), Integer.toString(test.steps()), test.result());
+            }
+            // every repetition of every passed test
+            if (run.result().getTiming() != null) {
+                printTiming(run.solver(), "all", run.result().getTiming(), "", "");
+            }
+        }
+    }
+
+    private static void printTiming(String solver, String test, TimingStats timing, String steps, String result) {
+        System.out.printf("%-22s %-6s %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f %6s %7s%n",
+                solver, test, timing.min(), timing.mean(), timing.median(), timing.p95(), timing.p99(), timing.stddev(), steps, result);
+    }
+
+    private record TestRun(String id, long[] times, int steps, String result) {
+    }
+
+    private record SolverRun(String solver, List<TestRun> tests, ResultData result) {
+    }
+
+    record Options(List<String> solvers, String testsFolder, int repeat, int warmup, String statsFile, int stressThreads,
+                   long timeoutMillis, long maxNodes, int parallelThreads, String corpusFile, int threads, boolean list) {
+
+        // a fresh budget per solve, its deadline starts when it is created
+        SearchBudget budget() {
+            if (timeoutMillis == 0 && maxNodes == 0) {
+                return SearchBudget.UNLIMITED;
+            }
+            return SearchBudget.of(timeoutMillis > 0 ? Duration.ofMillis(timeoutMillis) : null, maxNodes, null);
+        }
+
+        static Options parse(String[] args) {
+            List<String> solvers = List.of("DFSSolver");
+            String testsFolder = "tests/public";
+            int repeat = 1;
+            int warmup = 0;
+            String statsFile = null;
+            int stressThreads = 0;
+            long timeoutMillis = 0;
+            long maxNodes = 0;
+            int parallelThreads = 0;
+            String corpusFile = null;
+            int threads = Runtime.getRuntime().availableProcessors();
+            boolean list = false;
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--solver" -> solvers = List.of(value(args, ++i).split(","));
+                    case "--tests" -> testsFolder = value(args, ++i);
+                    case "--repeat" -> repeat = positive(args, ++i, 1);
+                    case "--warmup" -> warmup = positive(args, ++i, 0);
+                    case "--stats" -> statsFile = value(args, ++i);
+                    case "--timeout" -> timeoutMillis = positive(args, ++i, 1);
+                    case "--max-nodes" -> maxNodes = positive(args, ++i, 1);
+                    case "--stress" -> stressThreads = positive(args, ++i, 1);
+                    case "--parallel" -> parallelThreads = positive(args, ++i, 1);
+                    case "--corpus" -> corpusFile = value(args, ++i);
+                    case "--threads" -> threads = positive(args, ++i, 1);
+                    case "--list" -> list = true;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            return new Options(solvers, testsFolder, repeat, warmup, statsFile, stressThreads, timeoutMillis, maxNodes, parallelThreads, corpusFile, threads, list);
+        }
+
+        private static String value(String[] args, int i) {
+            if (i >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+            }
+            return args[i];
+        }
+
+        private static int positive(String[] args, int i, int min) {
+            String value = value(args, i);
+            try {
+                int n = Integer.parseInt(value);
+                if (n >= min) {
+                    return n;
+                }
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+            throw new IllegalArgumentException(args[i - 1] + " expects a number >= " + min + ", got " + value);
+        }
     }
 
     public static String getClassName(String filename) {
@@ -62,9 +487,13 @@ public class PegSolitaireValidation {
     }
 
     public static boolean validateSolution(long[] solution, long start, long end, boolean reachable, boolean log, long executionTime) {
+        return validateSolution(BoardGeometry.ENGLISH, solution, start, end, reachable, log, executionTime);
+    }
+
+    public static boolean validateSolution(BoardGeometry geometry, long[] solution, long start, long end, boolean reachable, boolean log, long executionTime) {
         if (!reachable) {
             if (solution.length == 0) {
-                logResult("+", 0, executionTime, null);
+                if (log) logResult("+", 0, executionTime, null);
                 return true;
             }
             if (log) logResult("-", 0, 0, "Test marked as unsolvable produced a result");
@@ -82,36 +511,28 @@ public class PegSolitaireValidation {
             if (log) logResult("-", 0, 0, "End position of the board is not the same as defined");
             return false;
         }
-        for (int i = 0; i < solution.length - 1; i++) {
-            if (!validateMove(solution[i], solution[i + 1], i, log)) {
-                return false;
-            }
+        // the engine checks every step, validateMove only explains the first bad one
+        int invalid = (geometry == BoardGeometry.ENGLISH ? ENGLISH_MOVES : MoveEngine.forGeometry(geometry)).firstInvalidStep(solution);
+        if (invalid >= 0) {
+            validateMove(geometry, solution[invalid], solution[invalid + 1], invalid, log);
+            return false;
         }
-        logResult("+", solution.length - 1, executionTime, null);
+        if (log) logResult("+", solution.length - 1, executionTime, null);
         return true;
     }
 
-    private static boolean validateMove(long before, long after, int i, boolean log) {
+    private static boolean validateMove(BoardGeometry geometry, long before, long after, int i, boolean log) {
         long move = before ^ after;
         if (Long.bitCount(move) != 3) {
             if (log) logResult("-", 0, 0, "Invalid move: " + i + "(In a valid move exactly 3 positions are changed)");
             return false;
         }
-        long positionBefore = before & move;
-        long positionAfter = after & move;
-        long moveDown = (positionBefore >> 7) - positionAfter;
-        long moveUp = (positionBefore << 7) - positionAfter;
-        long moveLeft = (positionBefore << 1) - positionAfter;
-        long moveRight = (positionBefore >> 1) - positionAfter;
-        if ((moveDown >> 7) - positionAfter != 0 &&
-                (moveUp << 7) - positionAfter != 0 &&
-                (moveLeft << 1) - positionAfter != 0 &&
-                (moveRight >> 1) - positionAfter != 0) {
-            if (log) logResult("-", 0, 0, "Invalid move: " + i);
+        if ((after & geometry.invalidMask()) != 0) {
+            if (log) logResult("-", 0, 0, "Invalid move: " + i + "(The move contains a peg on an invalid field)");
             return false;
         }
-        if ((after & 438808218710499L) != 0) {
-            if (log) logResult("-", 0, 0, "Invalid move: " + i + "(The move contains a peg on an invalid field)");
+        if (!geometry.isMove(before, after)) {
+            if (log) logResult("-", 0, 0, "Invalid move: " + i);
             return false;
         }
         return true;
@@ -159,7 +580,9 @@ public class PegSolitaireValidation {
         final String RED = "\u001B[31m";
         final String RESET = "\u001B[0m";
 
-        String color = status.equals("+") ? GREEN : RED;
+        final String YELLOW = "\u001B[33m";
+
+        String color = status.equals("+") ? GREEN : status.equals("?") ? YELLOW : RED;
 
         if (errorMsg != null && !errorMsg.isEmpty()) {
             System.out.printf("%s%s[%s]%s[%s]%n",
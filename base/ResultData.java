@@ -7,10 +7,13 @@ public class ResultData {
 
     private String name;
     private String surname;
+    private String solver;
     private List<ResultTestData> results;
     private double averageExecutionTime;
     private int successCount;
     private int failedCount;
+    private int timedOutCount;
+    private TimingStats timing;
 
     public ResultData(String name, String surname) {
         this.name = name;
@@ -27,7 +30,10 @@ public class ResultData {
     public void setAverageExecutionTime() {
         double average = 0;
         if (results != null && !results.isEmpty()) {
-            average = results.stream().mapToLong(ResultTestData::getExecutionTime).average().orElse(0);
+            // the mean of the measured repetitions where there is one, it keeps the sub-millisecond part
+            average = results.stream()
+                    .mapToDouble(test -> test.getTiming() != null ? test.getTiming().mean() : test.getExecutionTime())
+                    .average().orElse(0);
         }
         this.averageExecutionTime = average;
     }
@@ -40,6 +46,14 @@ public class ResultData {
         return surname;
     }
 
+    public String getSolver() {
+        return solver;
+    }
+
+    public void setSolver(String solver) {
+        this.solver = solver;
+    }
+
     public List<ResultTestData> getResults() {
         return results;
     }
@@ -60,15 +74,37 @@ public class ResultData {
         this.failedCount = failedCount;
     }
 
+    public int getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    public void setTimedOutCount(int timedOutCount) {
+        this.timedOutCount = timedOutCount;
+    }
+
     public double getAverageExecutionTime() {
         return averageExecutionTime;
     }
 
+    /**
+     * @return measured times of every repetition of every completed test pooled together, null if none were measured
+     */
+    public TimingStats getTiming() {
+        return timing;
+    }
+
+    public void setTiming(TimingStats timing) {
+        this.timing = timing;
+    }
+
     static class ResultTestData {
 
         private final long executionTime;
+        private String id;
         private int steps;
         private String error;
+        private SolverStats stats;
+        private TimingStats timing;
 
         public ResultTestData(long executionTime) {
             this.executionTime = executionTime;
@@ -78,6 +114,10 @@ public class ResultData {
             return executionTime;
         }
 
+        public String getId() {
+            return id;
+        }
+
         public int getSteps() {
             return steps;
         }
@@ -86,6 +126,14 @@ public class ResultData {
             return error;
         }
 
+        public SolverStats getStats() {
+            return stats;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
         public void setSteps(int steps) {
             this.steps = steps;
         }
@@ -93,6 +141,18 @@ public class ResultData {
         public void setError(String error) {
             this.error = error;
         }
+
+        public void setStats(SolverStats stats) {
+            this.stats = stats;
+        }
+
+        public TimingStats getTiming() {
+            return timing;
+        }
+
+        public void setTiming(TimingStats timing) {
+            this.timing = timing;
+        }
     }
 
     public record TestSolution(long[] solutionSteps, long executionTime) {
@@ -0,0 +1,139 @@
+package base;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes ResultData, including the per-test search counters and timing summaries, as JSON or CSV (chosen by the file extension).
+ */
+final class ResultExport {
+
+    private static final String CSV_HEADER = "solver,test,executionTime,steps,error,nodesExpanded,visitedHits,cacheHits,prunedBranches,maxDepth,visitedSize,runs,meanMs,medianMs,p95Ms,p99Ms,stddevMs";
+
+    private ResultExport() {
+    }
+
+    static void write(Path file, List<ResultData> results) throws IOException {
+        String content = file.toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? toCsv(results) : toJson(results);
+        Files.writeString(file, content);
+    }
+
+    static String toCsv(List<ResultData> results) {
+        StringBuilder out = new StringBuilder(CSV_HEADER).append('\n');
+        for (ResultData result : results) {
+            for (ResultData.ResultTestData test : tests(result)) {
+                SolverStats stats = stats(test);
+                out.append(csv(result.getSolver())).append(',')
+                        .append(csv(test.getId())).append(',')
+                        .append(test.getExecutionTime()).append(',')
+                        .append(test.getSteps()).append(',')
+                        .append(csv(test.getError())).append(',')
+                        .append(stats.getNodesExpanded()).append(',')
+                        .append(stats.getVisitedHits()).append(',')
+                        .append(stats.getCacheHits()).append(',')
+                        .append(stats.getPrunedBranches()).append(',')
+                        .append(stats.getMaxDepth()).append(',')
+                        .append(stats.getVisitedSize()).append(',')
+                        .append(csv(test.getTiming())).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    static String toJson(List<ResultData> results) {
+        StringBuilder out = new StringBuilder("[\n");
+        for (int r = 0; r < results.size(); r++) {
+            ResultData result = results.get(r);
+            out.append("  {\n")
+                    .append("    \"solver\": ").append(json(result.getSolver())).append(",\n")
+                    .append("    \"name\": ").append(json(result.getName())).append(",\n")
+                    .append("    \"surname\": ").append(json(result.getSurname())).append(",\n")
+                    .append("    \"successCount\": ").append(result.getSuccessCount()).append(",\n")
+                    .append("    \"failedCount\": ").append(result.getFailedCount()).append(",\n")
+                    .append("    \"timedOutCount\": ").append(result.getTimedOutCount()).append(",\n")
+                    .append("    \"averageExecutionTime\": ").append(String.format(Locale.ROOT, "%.3f", result.getAverageExecutionTime())).append(",\n")
+                    .append("    \"timing\": ").append(json(result.getTiming())).append(",\n")
+                    .append("    \"results\": [\n");
+            List<ResultData.ResultTestData> tests = tests(result);
+            for (int t = 0; t < tests.size(); t++) {
+                ResultData.ResultTestData test = tests.get(t);
+                SolverStats stats = stats(test);
+                out.append("      {")
+                        .append("\"id\": ").append(json(test.getId()))
+                        .append(", \"executionTime\": ").append(test.getExecutionTime())
+                        .append(", \"steps\": ").append(test.getSteps())
+                        .append(", \"error\": ").append(json(test.getError()))
+                        .append(", \"nodesExpanded\": ").append(stats.getNodesExpanded())
+                        .append(", \"visitedHits\": ").append(stats.getVisitedHits())
+                        .append(", \"cacheHits\": ").append(stats.getCacheHits())
+                        .append(", \"prunedBranches\": ").append(stats.getPrunedBranches())
+                        .append(", \"maxDepth\": ").append(stats.getMaxDepth())
+                        .append(", \"visitedSize\": ").append(stats.getVisitedSize())
+                        .append(", \"timing\": ").append(json(test.getTiming()))
+                        .append(t < tests.size() - 1 ? "},\n" : "}\n");
+            }
+            out.append("    ]\n").append(r < results.size() - 1 ? "  },\n" : "  }\n");
+        }
+        return out.append("]\n").toString();
+    }
+
+    private static List<ResultData.ResultTestData> tests(ResultData result) {
+        return result.getResults() != null ? result.getResults() : List.of();
+    }
+
+    private static SolverStats stats(ResultData.ResultTestData test) {
+        return test.getStats() != null ? test.getStats() : new SolverStats();
+    }
+
+    private static String json(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static String json(TimingStats timing) {
+        if (timing == null) {
+            return "null";
+        }
+        return String.format(Locale.ROOT, "{\"runs\": %d, \"meanMs\": %.3f, \"medianMs\": %.3f, \"p95Ms\": %.3f, \"p99Ms\": %.3f, \"stddevMs\": %.3f}",
+                timing.count(), timing.mean(), timing.median(), timing.p95(), timing.p99(), timing.stddev());
+    }
+
+    // empty columns when the test has no measured runs
+    private static String csv(TimingStats timing) {
+        if (timing == null) {
+            return ",,,,,";
+        }
+        return String.format(Locale.ROOT, "%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                timing.count(), timing.mean(), timing.median(), timing.p95(), timing.p99(), timing.stddev());
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,68 @@
+package base;
+
+/**
+ * One move at a time over the geometry's masks, kept as parallel arrays (one entry per move).
+ */
+final class ScalarMoveEngine implements MoveEngine {
+
+    private final long[] from;
+    private final long[] jumped;
+    private final long[] to;
+    // fields a move changes, and the ones among them that hold a peg before it
+    private final long[] changed;
+    private final long[] emptied;
+
+    ScalarMoveEngine(BoardGeometry geometry) {
+        int count = geometry.moveCount();
+        from = new long[count];
+        jumped = new long[count];
+        to = new long[count];
+        changed = new long[count];
+        emptied = new long[count];
+        for (int i = 0; i < count; i++) {
+            from[i] = geometry.fromMask(i);
+            jumped[i] = geometry.jumpedMask(i);
+            to[i] = geometry.toMask(i);
+            changed[i] = from[i] | jumped[i] | to[i];
+            emptied[i] = from[i] | jumped[i];
+        }
+    }
+
+    @Override
+    public int successors(long board, long[] out) {
+        int n = 0;
+        for (int i = 0; i < from.length; i++) {
+            if ((board & from[i]) != 0 && (board & jumped[i]) != 0 && (board & to[i]) == 0) {
+                out[n++] = board ^ changed[i];
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int firstInvalidStep(long[] solution) {
+        for (int s = 0; s + 1 < solution.length; s++) {
+            if (!isMove(solution[s], solution[s + 1])) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    // the fields that changed are those of one move, with pegs on 'from' and 'jumped' before it and a hole on 'to'
+    private boolean isMove(long before, long after) {
+        long diff = before ^ after;
+        long pegs = before & diff;
+        for (int i = 0; i < changed.length; i++) {
+            if (diff == changed[i] && pegs == emptied[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean vectorized() {
+        return false;
+    }
+}
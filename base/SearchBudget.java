@@ -0,0 +1,78 @@
+package base;
+
+import java.time.Duration;
+
+/**
+ * Limits for one solveWithin call: a deadline, a number of expanded nodes and a cancellation token, each optional.
+ * Solvers do not look at the clock or the token on every node; they call exhausted only every CHECK_INTERVAL nodes
+ * (see nextCheck), and the node limit itself is checked exactly.
+ */
+public class SearchBudget {
+
+    public static final SearchBudget UNLIMITED = new SearchBudget(0, Long.MAX_VALUE, null);
+
+    // expanded nodes between two looks at the clock and the cancellation token
+    public static final long CHECK_INTERVAL = 1024;
+
+    private final long deadline;
+    private final long maxNodes;
+    private final CancellationToken cancellation;
+
+    private SearchBudget(long deadline, long maxNodes, CancellationToken cancellation) {
+        this.deadline = deadline;
+        this.maxNodes = maxNodes;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * the deadline starts running now, so create the budget right before the call it limits
+     * @param timeout time allowed for the search, or null for no time limit
+     * @param maxNodes nodes the search may expand, or 0 for no node limit
+     * @param cancellation token that stops the search once cancelled, or null
+     */
+    public static SearchBudget of(Duration timeout, long maxNodes, CancellationToken cancellation) {
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("maxNodes must not be negative");
+        }
+        long deadline = timeout != null ? System.nanoTime() + timeout.toNanos() : 0;
+        return new SearchBudget(deadline, maxNodes > 0 ? maxNodes : Long.MAX_VALUE, cancellation);
+    }
+
+    /**
+     * for handing the rest of a search to another solver, which counts its nodes from zero again
+     * @param nodes nodes expanded so far
+     * @return a budget with the same deadline and token that allows only the nodes still left
+     */
+    public SearchBudget remaining(long nodes) {
+        if (this == UNLIMITED || maxNodes == Long.MAX_VALUE) {
+            return this;
+        }
+        return new SearchBudget(deadline, Math.max(0, maxNodes - nodes), cancellation);
+    }
+
+    public boolean isUnlimited() {
+        return this == UNLIMITED;
+    }
+
+    /**
+     * @param nodes nodes expanded so far
+     * @return the node count at which the solver should call exhausted next
+     */
+    public long nextCheck(long nodes) {
+        if (this == UNLIMITED) {
+            return Long.MAX_VALUE;
+        }
+        return Math.min(maxNodes, nodes + CHECK_INTERVAL);
+    }
+
+    /**
+     * @param nodes nodes expanded so far
+     * @return true if the search has to stop
+     */
+    public boolean exhausted(long nodes) {
+        return nodes >= maxNodes
+                || (deadline != 0 && System.nanoTime() - deadline >= 0)
+                || (cancellation != null && cancellation.isCancelled());
+    }
+
+}
@@ -0,0 +1,48 @@
+package base;
+
+/**
+ * Outcome of solveWithin. Unlike solve, it tells an unreachable goal apart from a search that ran out of budget.
+ */
+public class SolveResult {
+
+    public enum Status {
+        SOLVED,
+        UNREACHABLE,
+        // the budget ran out or the search was cancelled before an answer was known
+        UNKNOWN
+    }
+
+    private static final SolveResult UNREACHABLE = new SolveResult(Status.UNREACHABLE, new long[0]);
+    private static final SolveResult UNKNOWN = new SolveResult(Status.UNKNOWN, new long[0]);
+
+    private final Status status;
+    private final long[] solution;
+
+    private SolveResult(Status status, long[] solution) {
+        this.status = status;
+        this.solution = solution;
+    }
+
+    /**
+     * @param solution result of a completed search, empty if the goal is unreachable
+     */
+    public static SolveResult of(long[] solution) {
+        return solution.length > 0 ? new SolveResult(Status.SOLVED, solution) : UNREACHABLE;
+    }
+
+    public static SolveResult unknown() {
+        return UNKNOWN;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return board states after each move, empty unless the status is SOLVED
+     */
+    public long[] getSolution() {
+        return solution;
+    }
+
+}
@@ -0,0 +1,35 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Looks solvers up by their simple class name. Solvers are registered in
+ * META-INF/services/base.IPegSolitaireSolver; unregistered names fall back to a class in the solver package.
+ */
+public final class SolverRegistry {
+
+    private SolverRegistry() {
+    }
+
+    public static List<String> names() {
+        List<String> names = new ArrayList<>();
+        ServiceLoader.load(IPegSolitaireSolver.class).stream()
+                .forEach(provider -> names.add(provider.type().getSimpleName()));
+        return names;
+    }
+
+    public static IPegSolitaireSolver create(String name) throws ReflectiveOperationException {
+        for (ServiceLoader.Provider<IPegSolitaireSolver> provider : ServiceLoader.load(IPegSolitaireSolver.class).stream().toList()) {
+            if (provider.type().getSimpleName().equals(name)) {
+                return provider.get();
+            }
+        }
+        Class<?> solverClass = Class.forName(PegSolitaireValidation.getClassName(name));
+        if (!IPegSolitaireSolver.class.isAssignableFrom(solverClass)) {
+            throw new IllegalArgumentException("Solution class does not implement IPegSolitaireSolver!");
+        }
+        return (IPegSolitaireSolver) solverClass.getDeclaredConstructor().newInstance();
+    }
+}
@@ -0,0 +1,61 @@
+package base;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Search counters collected during solve calls. Solvers count into plain local fields and add them here once a
+ * search (or a parallel task) finishes, so the hot loop never touches these striped counters;
+ * passing null to solve skips the hand-over entirely.
+ */
+public class SolverStats {
+
+    private final LongAdder nodesExpanded = new LongAdder();
+    private final LongAdder visitedHits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder prunedBranches = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator visitedSize = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nodes boards whose successors were generated
+     * @param visited boards skipped because they, or a symmetric image, were already searched
+     * @param cached boards skipped because a cache already knew they were dead ends
+     * @param pruned boards cut off by an invariant (pagoda bound) before being searched
+     * @param depth deepest level reached
+     * @param visitedEntries size of the visited table at the end of the search
+     */
+    public void add(long nodes, long visited, long cached, long pruned, int depth, long visitedEntries) {
+        nodesExpanded.add(nodes);
+        visitedHits.add(visited);
+        cacheHits.add(cached);
+        prunedBranches.add(pruned);
+        maxDepth.accumulate(depth);
+        visitedSize.accumulate(visitedEntries);
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded.sum();
+    }
+
+    public long getVisitedHits() {
+        return visitedHits.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getPrunedBranches() {
+        return prunedBranches.sum();
+    }
+
+    public long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getVisitedSize() {
+        return visitedSize.get();
+    }
+
+}
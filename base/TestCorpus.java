@@ -0,0 +1,86 @@
+package base;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a binary test corpus written by TestCorpusConverter, memory-mapped so cases are read
+ * straight from the file instead of one TestData per case. Reads are absolute, so workers can share one instance.
+ *
+ * File layout, big-endian:
+ * magic (long), case count (int), one 17-byte record per case (reachable flag byte, start long, goal long),
+ * count + 1 int offsets into the id pool, then the ids as UTF-8.
+ */
+public final class TestCorpus {
+
+    static final long MAGIC = 0x5045475445535453L; // "PEGTESTS"
+    static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+    static final int RECORD_BYTES = 1 + 2 * Long.BYTES;
+
+    private final ByteBuffer data;
+    private final int size;
+    private final int idOffsets;
+    private final int idPool;
+
+    private TestCorpus(ByteBuffer data) {
+        if (data.limit() < HEADER_BYTES || data.getLong(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a test corpus");
+        }
+        this.data = data;
+        size = data.getInt(Long.BYTES);
+        idOffsets = HEADER_BYTES + size * RECORD_BYTES;
+        idPool = idOffsets + (size + 1) * Integer.BYTES;
+        if (idPool > data.limit() || idPool + data.getInt(idOffsets + size * Integer.BYTES) != data.limit()) {
+            throw new IllegalArgumentException("Truncated test corpus");
+        }
+    }
+
+    public static TestCorpus open(Path file) throws IOException {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Test corpus larger than 2 GB: " + file);
+            }
+            return new TestCorpus(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isReachable(int index) {
+        return data.get(record(index)) != 0;
+    }
+
+    public long start(int index) {
+        return data.getLong(record(index) + 1);
+    }
+
+    public long goal(int index) {
+        return data.getLong(record(index) + 1 + Long.BYTES);
+    }
+
+    public String id(int index) {
+        int from = data.getInt(idOffsets + index * Integer.BYTES);
+        int to = data.getInt(idOffsets + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[to - from];
+        data.get(idPool + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public TestData get(int index) {
+        return new TestData(start(index), goal(index), isReachable(index), id(index));
+    }
+
+    private int record(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Case " + index + " of " + size);
+        }
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,58 @@
+package base;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Converts a folder of .txt test cases (the tests/public layout) into a TestCorpus file, sorted by id.
+ *
+ * Usage: TestCorpusConverter tests-folder output-file
+ */
+public final class TestCorpusConverter {
+
+    private TestCorpusConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: TestCorpusConverter tests-folder output-file");
+            return;
+        }
+        List<TestData> tests = PegSolitaireValidation.readTests(args[0]).stream().sorted(Comparator.comparing(TestData::getId)).toList();
+        write(Path.of(args[1]), tests);
+        System.out.printf("%d cases written to %s%n", tests.size(), args[1]);
+    }
+
+    public static void write(Path file, List<TestData> tests) throws IOException {
+        byte[][] ids = new byte[tests.size()][];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tests.get(i).getId().getBytes(StandardCharsets.UTF_8);
+        }
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeLong(TestCorpus.MAGIC);
+            out.writeInt(tests.size());
+            for (TestData test : tests) {
+                out.writeByte(test.isReachable() ? 1 : 0);
+                out.writeLong(test.getStart());
+                out.writeLong(test.getGoal());
+            }
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] id : ids) {
+                offset += id.length;
+                out.writeInt(offset);
+            }
+            for (byte[] id : ids) {
+                out.write(id);
+            }
+        }
+    }
+}
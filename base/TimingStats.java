@@ -0,0 +1,32 @@
+package base;
+
+import java.util.Arrays;
+
+/**
+ * Summary of measured solve times, all in milliseconds. Percentiles are nearest-rank, stddev is the population one.
+ */
+public record TimingStats(int count, double min, double mean, double median, double p95, double p99, double stddev) {
+
+    public static TimingStats of(long[] nanos) {
+        if (nanos.length == 0) {
+            return new TimingStats(0, 0, 0, 0, 0, 0, 0);
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        double variance = Arrays.stream(sorted).mapToDouble(time -> (time - mean) * (time - mean)).sum() / sorted.length;
+        return new TimingStats(sorted.length,
+                sorted[0] / 1e6,
+                mean / 1e6,
+                percentile(sorted, 50) / 1e6,
+                percentile(sorted, 95) / 1e6,
+                percentile(sorted, 99) / 1e6,
+                Math.sqrt(variance) / 1e6);
+    }
+
+    // nearest-rank percentile of an ascending array
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
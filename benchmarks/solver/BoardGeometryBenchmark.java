@@ -0,0 +1,91 @@
+package solver;
+
+import base.BoardGeometry;
+import base.PegSolitaireValidation;
+import base.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * English fast path against the same board described through a generic BoardGeometry:
+ * DFSSolver without its dead-end cache (so every call searches), and the per-node canonical symmetry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardGeometryBenchmark {
+
+    // the English shape, but not the ENGLISH instance, so DFSSolver takes the generic path
+    private static final BoardGeometry GENERIC_ENGLISH = BoardGeometry.of(BoardGeometry.Adjacency.ORTHOGONAL,
+            "..ooo..",
+            "..ooo..",
+            "ooooooo",
+            "ooooooo",
+            "ooooooo",
+            "..ooo..",
+            "..ooo..");
+
+    @Param({"english", "generic"})
+    public String geometry;
+
+    @Param({"04", "05", "06"})
+    public String test;
+
+    @Param("tests/public")
+    public String testsFolder;
+
+    private DFSSolver solver;
+    private BoardGeometry board;
+    private long start;
+    private long goal;
+    private long[] boards;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = geometry.equals("english") ? BoardGeometry.ENGLISH : GENERIC_ENGLISH;
+        solver = new DFSSolver(board, 0);
+        TestData data = PegSolitaireValidation.readTests(testsFolder).stream()
+                .filter(t -> t.getId().equals(test))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No test " + test + " in " + testsFolder));
+        start = data.getStart();
+        goal = data.getGoal();
+        boards = MoveGenerationBenchmark.randomBoards(MoveGenerationBenchmark.BOARDS, 7);
+    }
+
+    @Benchmark
+    public long[] solve() {
+        return solver.solve(start, goal);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MoveGenerationBenchmark.BOARDS)
+    public void canonical(Blackhole bh) {
+        if (board == BoardGeometry.ENGLISH) {
+            for (long b : boards) {
+                bh.consume(Symmetry.canonical(b));
+            }
+        } else {
+            for (long b : boards) {
+                bh.consume(board.canonical(b));
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package solver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of DFSSolver.getCanonicalSymmetry, the per-node symmetry reduction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalSymmetryBenchmark {
+
+    long[] boards;
+
+    @Setup
+    public void setUp() {
+        boards = MoveGenerationBenchmark.randomBoards(MoveGenerationBenchmark.BOARDS, 7);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MoveGenerationBenchmark.BOARDS)
+    public void canonical(Blackhole bh) {
+        for (long board : boards) {
+            bh.consume(DFSSolver.getCanonicalSymmetry(board));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package solver;
+
+import base.BoardGeometry;
+import base.MoveEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar against vector MoveEngine: all successors of random boards, and checking every step of random
+ * playouts from the standard start. The vector engine needs mvn -P jmh,vector package.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MoveEngineBenchmark {
+
+    static final int BOARDS = 1024;
+    static final int SOLUTIONS = 256;
+
+    @Param({"scalar", "vector"})
+    String engine;
+
+    MoveEngine moves;
+    long[] boards;
+    long[][] solutions;
+    long[] out;
+
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BoardGeometry.ENGLISH;
+        moves = engine.equals("vector") ? MoveEngine.vector(geometry) : MoveEngine.scalar(geometry);
+        boards = MoveGenerationBenchmark.randomBoards(BOARDS, 42);
+        out = new long[geometry.moveCount()];
+        SplittableRandom random = new SplittableRandom(42);
+        solutions = new long[SOLUTIONS][];
+        for (int s = 0; s < SOLUTIONS; s++) {
+            long[] path = new long[Long.bitCount(ReachabilityDatabaseBuilder.STANDARD_START)];
+            path[0] = ReachabilityDatabaseBuilder.STANDARD_START;
+            int length = 1;
+            for (int n; (n = moves.successors(path[length - 1], out)) > 0; length++) {
+                path[length] = out[random.nextInt(n)];
+            }
+            solutions[s] = Arrays.copyOf(path, length);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int successors() {
+        int total = 0;
+        for (long board : boards) {
+            total += moves.successors(board, out);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOLUTIONS)
+    public void validate(Blackhole bh) {
+        for (long[] solution : solutions) {
+            bh.consume(moves.firstInvalidStep(solution));
+        }
+    }
+}
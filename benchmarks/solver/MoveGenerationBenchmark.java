@@ -0,0 +1,80 @@
+package solver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Successor generation, move by move over the shared table and per direction with bitboard shifts,
+ * on random boards of every peg count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    static final int BOARDS = 1024;
+
+    long[] boards;
+
+    @Setup
+    public void setUp() {
+        boards = randomBoards(BOARDS, 42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void successors(Blackhole bh) {
+        for (long board : boards) {
+            for (int i = 0; i < Moves.COUNT; i++) {
+                if ((board & Moves.FROM[i]) != 0 && (board & Moves.JUMPED[i]) != 0 && (board & Moves.TO[i]) == 0) {
+                    bh.consume((board & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void bulkSuccessors(Blackhole bh) {
+        for (long board : boards) {
+            for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                for (long movable = Moves.movable(board, d); movable != 0; movable &= movable - 1) {
+                    bh.consume(Moves.jump(board, movable & -movable, d));
+                }
+            }
+        }
+    }
+
+    // boards on the 33 valid fields with a uniformly random peg density
+    static long[] randomBoards(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] result = new long[count];
+        for (int n = 0; n < count; n++) {
+            double density = random.nextDouble();
+            long board = 0L;
+            for (int i = 0; i < 49; i++) {
+                if (random.nextDouble() < density) {
+                    board |= 1L << i;
+                }
+            }
+            result[n] = board & ~Moves.INVALID_FIELDS_MASK;
+        }
+        return result;
+    }
+}
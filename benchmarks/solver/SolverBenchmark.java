@@ -0,0 +1,71 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.PegSolitaireValidation;
+import base.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end solve time of every exhaustive solver on each case from tests/public.
+ * BasicSolver is left out: it restarts up to a billion times on unreachable cases.
+ * WideDFSSolver runs on the English geometry, so it measures the generic long[] path against DFSSolver.
+ * DatabaseSolver reads the database file given by the database parameter (build it with ReachabilityDatabaseBuilder);
+ * without that file, or for goals it was not built for, it measures the lookup in front of DFSSolver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"DFSSolver", "IterativeSolver", "BestFirstSolver", "ParallelDFSSolver", "BidirectionalSolver", "PortfolioSolver",
+            "WideDFSSolver", "DatabaseSolver"})
+    public String solver;
+
+    @Param({"01", "02", "03", "04", "05", "06", "07", "08", "09", "10"})
+    public String test;
+
+    @Param("tests/public")
+    public String testsFolder;
+
+    @Param("reachability.db")
+    public String database;
+
+    private IPegSolitaireSolver instance;
+    private long start;
+    private long goal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        // read by the DatabaseSolver constructor; each trial runs in a forked JVM
+        System.setProperty("pegsolitaire.db", database);
+        instance = (IPegSolitaireSolver) Class.forName(PegSolitaireValidation.getClassName(solver))
+                .getDeclaredConstructor().newInstance();
+        TestData data = PegSolitaireValidation.readTests(testsFolder).stream()
+                .filter(t -> t.getId().equals(test))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No test " + test + " in " + testsFolder));
+        start = data.getStart();
+        goal = data.getGoal();
+    }
+
+    @Benchmark
+    public long[] solve() {
+        return instance.solve(start, goal);
+    }
+}
@@ -0,0 +1,92 @@
+package solver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visited-set traffic of one search: clear, then add the first million boards reached breadth-first from the
+ * standard start, each offered once per move leading to it. Random boards would spread over every page of the
+ * bitset, search boards do not. Compaction alone is measured by compress.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class VisitedSetBenchmark {
+
+    static final int BOARDS = 1 << 20;
+
+    @Param({"hash", "bitset"})
+    String store;
+
+    VisitedSet visited;
+    long[] boards;
+
+    @Setup
+    public void setUp() {
+        visited = store.equals("bitset") ? new BitsetVisitedSet() : new LongHashSet();
+        boards = searchBoards(BOARDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int add() {
+        visited.clear();
+        int added = 0;
+        for (long board : boards) {
+            if (visited.add(board)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void compress(Blackhole bh) {
+        for (long board : boards) {
+            bh.consume(BoardIndex.compress(board));
+        }
+    }
+
+    // successors of each level of the standard game in generation order, duplicates included
+    static long[] searchBoards(int count) {
+        long[] result = new long[count];
+        int n = 0;
+        LongHashSet seen = new LongHashSet();
+        long[] level = { ReachabilityDatabaseBuilder.STANDARD_START };
+        while (n < count) {
+            long[] next = new long[count];
+            int m = 0;
+            for (long board : level) {
+                for (int d = 0; d < Moves.DIRECTIONS && n < count; d++) {
+                    for (long movable = Moves.movable(board, d); movable != 0 && n < count; movable &= movable - 1) {
+                        long successor = Moves.jump(board, movable & -movable, d);
+                        result[n++] = successor;
+                        if (seen.add(successor)) {
+                            next[m++] = successor;
+                        }
+                    }
+                }
+            }
+            level = Arrays.copyOf(next, m);
+        }
+        return result;
+    }
+}
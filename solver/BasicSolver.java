@@ -1,6 +1,10 @@
 package solver;
 
+import base.BoardGeometry;
 import base.IPegSolitaireSolver;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,18 +17,42 @@ public class BasicSolver implements IPegSolitaireSolver {
     // if there are no available valid moves, reset and start again
     @Override
     public long[] solve(long initialBoard, long goalBoard) {
+        return search(initialBoard, goalBoard, SearchBudget.UNLIMITED);
+    }
+
+    // random restarts never prove a goal unreachable, so a run that stops without the goal is reported as unknown
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        long[] solution = search(initialBoard, goalBoard, budget);
+        if (solution == null || solution[solution.length - 1] != goalBoard) {
+            return SolveResult.unknown();
+        }
+        return SolveResult.of(solution);
+    }
+
+    // returns null if the budget ran out
+    private long[] search(long initialBoard, long goalBoard, SearchBudget budget) {
         List<Long> solutionSteps = new ArrayList<>();
         solutionSteps.add(initialBoard);
 
-        int numberOfFinalPegs = (int) (Math.log(goalBoard) / Math.log(2)) + 1;
+        int numberOfFinalPegs = Long.bitCount(goalBoard);
 
         long currentBoard = initialBoard;
         long limit = 1_000_000_000L;
         long attempts = 0;
+        long moves = 0;
+        long nextCheck = budget.nextCheck(0);
 
         while (currentBoard != goalBoard){
+            // every move counts as a node, the budget is checked every few of them
+            if (++moves >= nextCheck) {
+                if (budget.exhausted(moves)) {
+                    return null;
+                }
+                nextCheck = budget.nextCheck(moves);
+            }
             List<Long> allValidMoves = getAllValidMoves(currentBoard);
-            int numberOfPegs = (int) (Math.log(currentBoard) / Math.log(2)) + 1;
+            int numberOfPegs = Long.bitCount(currentBoard);
             if (allValidMoves.isEmpty() || numberOfPegs < numberOfFinalPegs) {
                 attempts++;
                 if (attempts > limit) {
@@ -70,6 +98,11 @@ public class BasicSolver implements IPegSolitaireSolver {
             return -1;
         }
 
+        // If a sideways move wraps into another row
+        if (Math.abs(offset) == 1 && position / 7 != landingPos / 7) {
+            return -1;
+        }
+
         // Check if there's a peg at the starting position
         if ((currentBoard & (1L << position)) == 0) {
             return -1;
@@ -91,7 +124,7 @@ public class BasicSolver implements IPegSolitaireSolver {
         currentBoard |= (1L << landingPos); // Add landing peg
 
         // if a peg is on an invalid field
-        if ((currentBoard & 438808218710499L) != 0) {
+        if ((currentBoard & BoardGeometry.ENGLISH.invalidMask()) != 0) {
             return -1L;
         }
 
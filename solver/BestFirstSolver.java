@@ -0,0 +1,270 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
+
+import java.util.Arrays;
+
+/**
+ * Greedy best-first search towards the goal board. Every solution has the same length (the peg-count difference),
+ * so instead of path cost the open list is ordered by how far a board looks from the goal:
+ * distance of pegs outside the goal's footprint to it, distance from each empty goal hole to its nearest peg,
+ * and isolated pegs.
+ * Boards are kept exact (no symmetry reduction), so the search is also sound for asymmetric goals.
+ * When the node budget runs out it hands the query to IterativeSolver.
+ */
+public class BestFirstSolver implements IPegSolitaireSolver {
+
+    private static final int SIZE = 7;
+    private static final int INITIAL_NODES = 1 << 12;
+    private static final int MAX_NODES = 1 << 21;
+    private static final int MAX_DISTANCE = 2 * (SIZE - 1);
+
+    private static final long COLUMN_0;
+    private static final long COLUMN_6;
+
+    // RINGS[field * (MAX_DISTANCE + 1) + d] = valid fields at Manhattan distance d from field
+    private static final long[] RINGS = new long[SIZE * SIZE * (MAX_DISTANCE + 1)];
+
+    static {
+        long column = 0L;
+        for (int r = 0; r < SIZE; r++) {
+            column |= 1L << (r * SIZE);
+        }
+        COLUMN_0 = column;
+        COLUMN_6 = column << (SIZE - 1);
+        for (int field = 0; field < SIZE * SIZE; field++) {
+            for (int other = 0; other < SIZE * SIZE; other++) {
+                if (((1L << other) & Moves.INVALID_FIELDS_MASK) == 0) {
+                    int d = Math.abs(field / SIZE - other / SIZE) + Math.abs(field % SIZE - other % SIZE);
+                    RINGS[field * (MAX_DISTANCE + 1) + d] |= 1L << other;
+                }
+            }
+        }
+    }
+
+    private final IterativeSolver fallback = new IterativeSolver();
+    private final SearchContextPool<Search> searches = new SearchContextPool<>(Search::new);
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        return solve(initialBoard, goalBoard, null);
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard, SolverStats stats) {
+        return solveWithin(initialBoard, goalBoard, SearchBudget.UNLIMITED, stats).getSolution();
+    }
+
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        Search search = searches.acquire();
+        try {
+            SolveResult result = search.run(initialBoard, goalBoard, budget, stats);
+            if (stats != null) {
+                stats.add(search.nodesExpanded, search.visitedHits, 0, search.prunedBranches, search.deepest, search.seen.size());
+            }
+            return result;
+        } finally {
+            searches.release(search);
+        }
+    }
+
+    /**
+     * Lower is closer: for every peg outside the goal footprint its distance to the nearest goal peg,
+     * the distance from every empty goal hole to its nearest peg, and 2 per peg with no orthogonal neighbour
+     * (it needs another peg to come to it before it can be removed).
+     */
+    static int heuristic(long board, long goal) {
+        int value = nearestDistances(board & ~goal, goal) + nearestDistances(goal & ~board, board);
+        long neighbours = ((board << 1) & ~COLUMN_0) | ((board >>> 1) & ~COLUMN_6) | (board << SIZE) | (board >>> SIZE);
+        return value + 2 * Long.bitCount(board & ~neighbours);
+    }
+
+    // sum over the fields in 'from' of the Manhattan distance to the closest field in 'to'
+    private static int nearestDistances(long from, long to) {
+        int value = 0;
+        for (long fields = from; fields != 0; fields &= fields - 1) {
+            int base = Long.numberOfTrailingZeros(fields) * (MAX_DISTANCE + 1);
+            int d = 1;
+            while (d < MAX_DISTANCE && (to & RINGS[base + d]) == 0) {
+                d++;
+            }
+            value += d;
+        }
+        return value;
+    }
+
+    // per-call node arrays, heap and seen set; pooled, and a call holds its own until it ends, so concurrent solve calls never share one
+    private final class Search {
+        // node arrays: the board and the index of the node it was reached from
+        private long[] nodeBoard = new long[INITIAL_NODES];
+        private int[] nodeParent = new int[INITIAL_NODES];
+        private int nodeCount;
+
+        // binary min-heap of node indices keyed by heuristic value
+        private int[] heapNode = new int[INITIAL_NODES];
+        private int[] heapKey = new int[INITIAL_NODES];
+        private int heapSize;
+
+        private final LongHashSet seen = new LongHashSet();
+        // counters of the current search, handed to SolverStats when it ends
+        private long nodesExpanded;
+        private long visitedHits;
+        private long prunedBranches;
+        private int deepest;
+
+        private SolveResult run(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+            nodesExpanded = 0;
+            visitedHits = 0;
+            prunedBranches = 0;
+            deepest = 0;
+            seen.clear();
+
+            int maxDepth = Long.bitCount(initialBoard) - Long.bitCount(goalBoard);
+
+            // already cancelled or past the deadline
+            if (budget.exhausted(0)) {
+                return SolveResult.unknown();
+            }
+            // impossible
+            if (maxDepth < 0) {
+                return SolveResult.of(new long[0]);
+            }
+            // already solved
+            if (initialBoard == goalBoard) {
+                return SolveResult.of(new long[] { initialBoard });
+            }
+
+            Invariants.Pagoda[] pagodas = Invariants.goalPagodas(goalBoard, Invariants.MAX_GOAL_PAGODAS);
+            if (!Invariants.mayReach(initialBoard, goalBoard, pagodas)) {
+                return SolveResult.of(new long[0]);
+            }
+            int[] goalPagodaValues = new int[pagodas.length];
+            for (int i = 0; i < pagodas.length; i++) {
+                goalPagodaValues[i] = pagodas[i].value(goalBoard);
+            }
+
+            nodeCount = 0;
+            heapSize = 0;
+            seen.add(initialBoard);
+            push(initialBoard, -1, goalBoard);
+            long nextCheck = budget.nextCheck(0);
+
+            while (heapSize > 0) {
+                int node = pop();
+                long current = nodeBoard[node];
+                // clock and token are only looked at every few nodes
+                if (++nodesExpanded >= nextCheck) {
+                    if (budget.exhausted(nodesExpanded)) {
+                        return SolveResult.unknown();
+                    }
+                    nextCheck = budget.nextCheck(nodesExpanded);
+                }
+                deepest = Math.max(deepest, Long.bitCount(initialBoard) - Long.bitCount(current));
+                for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                    for (long movable = Moves.movable(current, d); movable != 0; movable &= movable - 1) {
+                        long nextBoard = Moves.jump(current, movable & -movable, d);
+                        if (nextBoard == goalBoard) {
+                            deepest = maxDepth;
+                            return SolveResult.of(path(node, nextBoard));
+                        }
+                        if (Long.bitCount(nextBoard) == Long.bitCount(goalBoard)) {
+                            continue;
+                        }
+                        if (!seen.add(nextBoard)) {
+                            visitedHits++;
+                            continue;
+                        }
+                        if (Invariants.belowGoal(nextBoard, pagodas, goalPagodaValues)) {
+                            prunedBranches++;
+                            continue;
+                        }
+                        if (nodeCount == MAX_NODES) {
+                            // out of node arrays, finish with the exhaustive engine on what is left of the budget
+                            if (budget.exhausted(nodesExpanded)) {
+                                return SolveResult.unknown();
+                            }
+                            return fallback.solveWithin(initialBoard, goalBoard, budget.remaining(nodesExpanded), stats);
+                        }
+                        push(nextBoard, node, goalBoard);
+                    }
+                }
+            }
+            return SolveResult.of(new long[0]);
+        }
+
+        private long[] path(int node, long goalBoard) {
+            int length = 1;
+            for (int n = node; n >= 0; n = nodeParent[n]) {
+                length++;
+            }
+            long[] solution = new long[length];
+            solution[length - 1] = goalBoard;
+            int i = length - 2;
+            for (int n = node; n >= 0; n = nodeParent[n]) {
+                solution[i--] = nodeBoard[n];
+            }
+            return solution;
+        }
+
+        private void push(long board, int parent, long goal) {
+            if (nodeCount == nodeBoard.length) {
+                int capacity = Math.min(MAX_NODES, nodeBoard.length << 1);
+                nodeBoard = Arrays.copyOf(nodeBoard, capacity);
+                nodeParent = Arrays.copyOf(nodeParent, capacity);
+                heapNode = Arrays.copyOf(heapNode, capacity);
+                heapKey = Arrays.copyOf(heapKey, capacity);
+            }
+            int node = nodeCount++;
+            nodeBoard[node] = board;
+            nodeParent[node] = parent;
+            // deeper boards win ties, they are closer to a complete solution
+            int key = heuristic(board, goal) * 64 - (SIZE * SIZE - Long.bitCount(board));
+            int i = heapSize++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (heapKey[up] <= key) {
+                    break;
+                }
+                heapNode[i] = heapNode[up];
+                heapKey[i] = heapKey[up];
+                i = up;
+            }
+            heapNode[i] = node;
+            heapKey[i] = key;
+        }
+
+        private int pop() {
+            int top = heapNode[0];
+            int lastNode = heapNode[--heapSize];
+            int lastKey = heapKey[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) {
+                    child++;
+                }
+                if (heapKey[child] >= lastKey) {
+                    break;
+                }
+                heapNode[i] = heapNode[child];
+                heapKey[i] = heapKey[child];
+                i = child;
+            }
+            heapNode[i] = lastNode;
+            heapKey[i] = lastKey;
+            return top;
+        }
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+}
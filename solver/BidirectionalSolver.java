@@ -0,0 +1,131 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+
+/**
+ * Meet-in-the-middle solver: searches backward from the goal and forward from the start,
+ * each for about half of the peg-count difference, and stitches the two halves together.
+ * The backward side is kept in memory level by level, so it stops early on very wide levels.
+ */
+public class BidirectionalSolver implements IPegSolitaireSolver {
+
+    // stop growing the backward side early once a level gets this large, the forward DFS covers the rest
+    private static final int MAX_BACKWARD_LEVEL_SIZE = 1 << 18;
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        return new Search().run(initialBoard, goalBoard);
+    }
+
+    // per-call state, the levels are rebuilt for every goal anyway so nothing is pooled
+    private static final class Search {
+        // backwardLevels[k] holds every board that reaches the goal in exactly k moves
+        private LongHashSet[] backwardLevels;
+        private LongHashSet forwardVisited;
+        private long[] forwardPath;
+
+        private long[] run(long initialBoard, long goalBoard) {
+            int maxDepth = Long.bitCount(initialBoard) - Long.bitCount(goalBoard);
+
+            // impossible
+            if (maxDepth < 0) {
+                return new long[0];
+            }
+            // already solved
+            if (initialBoard == goalBoard) {
+                return new long[] { initialBoard };
+            }
+            if (maxDepth == 0) {
+                return new long[0];
+            }
+            if (!Invariants.mayReach(initialBoard, goalBoard, Invariants.goalPagodas(goalBoard, Invariants.MAX_GOAL_PAGODAS))) {
+                return new long[0];
+            }
+
+            int backwardDepth = expandBackward(goalBoard, maxDepth / 2);
+            if (backwardDepth < 0) {
+                // some reverse level is empty, nothing can reach the goal
+                return new long[0];
+            }
+            int forwardDepth = maxDepth - backwardDepth;
+
+            forwardVisited = new LongHashSet();
+            forwardPath = new long[maxDepth + 1];
+            forwardPath[0] = initialBoard;
+            if (!dfs(initialBoard, 0, forwardDepth, backwardLevels[backwardDepth])) {
+                return new long[0];
+            }
+
+            // walk down the backward levels from the meeting board to the goal
+            for (int depth = forwardDepth, level = backwardDepth; level > 0; depth++, level--) {
+                forwardPath[depth + 1] = nextOnLevel(forwardPath[depth], backwardLevels[level - 1]);
+            }
+            return forwardPath;
+        }
+
+        /**
+         * @return the number of backward levels built, or -1 if a level came out empty
+         */
+        private int expandBackward(long goal, int depth) {
+            backwardLevels = new LongHashSet[depth + 1];
+            backwardLevels[0] = new LongHashSet();
+            backwardLevels[0].add(goal);
+            for (int level = 1; level <= depth; level++) {
+                if (backwardLevels[level - 1].size() > MAX_BACKWARD_LEVEL_SIZE) {
+                    return level - 1;
+                }
+                LongHashSet next = new LongHashSet();
+                backwardLevels[level - 1].forEach(board -> {
+                    for (int i = 0; i < Moves.COUNT; i++) {
+                        // reverse move: peg on 'to', holes on 'from' and 'jumped'
+                        if ((board & Moves.TO[i]) != 0 && (board & (Moves.FROM[i] | Moves.JUMPED[i])) == 0) {
+                            next.add((board & ~Moves.TO[i]) | Moves.FROM[i] | Moves.JUMPED[i]);
+                        }
+                    }
+                });
+                if (next.size() == 0) {
+                    return -1;
+                }
+                backwardLevels[level] = next;
+            }
+            return depth;
+        }
+
+        private boolean dfs(long current, int depth, int maxDepth, LongHashSet frontier) {
+            if (depth == maxDepth) {
+                return frontier.contains(current);
+            }
+            if (!forwardVisited.add(current)) {
+                return false;
+            }
+            for (int i = 0; i < Moves.COUNT; i++) {
+                if ((current & Moves.FROM[i]) != 0 && (current & Moves.JUMPED[i]) != 0 && (current & Moves.TO[i]) == 0) {
+                    long nextBoard = (current & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i];
+                    forwardPath[depth + 1] = nextBoard;
+                    if (dfs(nextBoard, depth + 1, maxDepth, frontier)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    // every board on a backward level has at least one move onto the level below it
+    private static long nextOnLevel(long board, LongHashSet level) {
+        for (int i = 0; i < Moves.COUNT; i++) {
+            if ((board & Moves.FROM[i]) != 0 && (board & Moves.JUMPED[i]) != 0 && (board & Moves.TO[i]) == 0) {
+                long nextBoard = (board & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i];
+                if (level.contains(nextBoard)) {
+                    return nextBoard;
+                }
+            }
+        }
+        throw new IllegalStateException("Backward level is not connected to the goal");
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+}
@@ -0,0 +1,73 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Visited set of English boards as one bit per BoardIndex index: 2^33 bits (1 GiB) split into 8 KiB pages
+ * of long[], allocated the first time a board lands in them. Membership is a page lookup and a bit test,
+ * never a probe sequence. clear() zeroes the touched pages and keeps them, so a pooled instance stops
+ * allocating once its searches have touched the pages they need.
+ */
+final class BitsetVisitedSet implements VisitedSet {
+
+    // 2^16 bits = 1024 longs per page
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_WORDS = 1 << (PAGE_BITS - 6);
+    private static final int PAGES = (int) (BoardIndex.SIZE >>> PAGE_BITS);
+
+    private final long[][] pages = new long[PAGES][];
+    // pages written since the last clear
+    private int[] touched = new int[64];
+    private int touchedCount;
+    private final boolean[] isTouched = new boolean[PAGES];
+    private int size;
+
+    @Override
+    public boolean add(long board) {
+        long index = BoardIndex.compress(board);
+        int p = (int) (index >>> PAGE_BITS);
+        long[] page = pages[p];
+        if (page == null) {
+            page = new long[PAGE_WORDS];
+            pages[p] = page;
+        }
+        int word = (int) (index >>> 6) & (PAGE_WORDS - 1);
+        long bit = 1L << index;
+        if ((page[word] & bit) != 0) {
+            return false;
+        }
+        if (!isTouched[p]) {
+            isTouched[p] = true;
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount << 1);
+            }
+            touched[touchedCount++] = p;
+        }
+        page[word] |= bit;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(long board) {
+        long index = BoardIndex.compress(board);
+        long[] page = pages[(int) (index >>> PAGE_BITS)];
+        return page != null && (page[(int) (index >>> 6) & (PAGE_WORDS - 1)] & (1L << index)) != 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < touchedCount; i++) {
+            Arrays.fill(pages[touched[i]], 0L);
+            isTouched[touched[i]] = false;
+        }
+        touchedCount = 0;
+        size = 0;
+    }
+
+}
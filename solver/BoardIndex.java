@@ -0,0 +1,79 @@
+package solver;
+
+/**
+ * Dense numbering of English boards: the 33 holes of the 49-bit layout packed into the low 33 bits,
+ * row by row in field order, so every board is an index in [0, 2^33). Java 17 has no Long.compress,
+ * so each row is packed through a lookup table, 7 lookups per board like Symmetry.
+ */
+final class BoardIndex {
+
+    static final int BITS = 33;
+    static final long SIZE = 1L << BITS;
+
+    private static final int ROWS = 7;
+    private static final int ROW_MASK = (1 << ROWS) - 1;
+
+    // COMPRESS[row << 7 | pattern] = the row's holes packed at the row's offset in the index
+    private static final long[] COMPRESS = new long[ROWS << ROWS];
+    // FIELD[i] = board bit of index bit i
+    private static final long[] FIELD = new long[BITS];
+
+    static {
+        int next = 0;
+        int[] offset = new int[ROWS];
+        for (int r = 0; r < ROWS; r++) {
+            offset[r] = next;
+            for (int c = 0; c < ROWS; c++) {
+                long bit = 1L << (r * ROWS + c);
+                if ((bit & Moves.INVALID_FIELDS_MASK) == 0) {
+                    FIELD[next++] = bit;
+                }
+            }
+        }
+        if (next != BITS) {
+            throw new IllegalStateException("Expected " + BITS + " holes, found " + next);
+        }
+        for (int r = 0; r < ROWS; r++) {
+            for (int pattern = 0; pattern <= ROW_MASK; pattern++) {
+                long packed = 0L;
+                int i = offset[r];
+                for (int c = 0; c < ROWS; c++) {
+                    long bit = 1L << (r * ROWS + c);
+                    if ((bit & Moves.INVALID_FIELDS_MASK) == 0) {
+                        if ((pattern & (1 << c)) != 0) {
+                            packed |= 1L << i;
+                        }
+                        i++;
+                    }
+                }
+                COMPRESS[r << ROWS | pattern] = packed;
+            }
+        }
+    }
+
+    private BoardIndex() {
+    }
+
+    /**
+     * @param board a board without pegs on invalid fields
+     * @return its index in [0, 2^33)
+     */
+    static long compress(long board) {
+        long index = 0L;
+        for (int r = 0; r < ROWS; r++) {
+            index |= COMPRESS[r << ROWS | (int) (board >>> (r * ROWS)) & ROW_MASK];
+        }
+        return index;
+    }
+
+    /**
+     * @return the board of an index, the inverse of compress
+     */
+    static long expand(long index) {
+        long board = 0L;
+        for (long bits = index; bits != 0; bits &= bits - 1) {
+            board |= FIELD[Long.numberOfTrailingZeros(bits)];
+        }
+        return board;
+    }
+}
@@ -0,0 +1,71 @@
+package solver;
+
+import base.BoardGeometry;
+
+/**
+ * The symmetry group of one board shape, as DFSSolver uses it. ENGLISH is the table-driven Symmetry, any other
+ * shape goes through its BoardGeometry; a solver picks one when it is built instead of on every call.
+ */
+interface BoardSymmetries {
+
+    BoardSymmetries ENGLISH = new BoardSymmetries() {
+        @Override
+        public int[] stabilizer(long board) {
+            return Symmetry.stabilizer(board);
+        }
+
+        @Override
+        public long transform(long board, int symmetry) {
+            return Symmetry.transform(board, symmetry);
+        }
+
+        @Override
+        public int inverse(int symmetry) {
+            return Symmetry.inverse(symmetry);
+        }
+
+        @Override
+        public long canonical(long board, int[] group) {
+            return Symmetry.canonical(board, group);
+        }
+    };
+
+    static BoardSymmetries of(BoardGeometry geometry) {
+        if (geometry == BoardGeometry.ENGLISH) {
+            return ENGLISH;
+        }
+        return new BoardSymmetries() {
+            @Override
+            public int[] stabilizer(long board) {
+                return geometry.stabilizer(board);
+            }
+
+            @Override
+            public long transform(long board, int symmetry) {
+                return geometry.transform(board, symmetry);
+            }
+
+            @Override
+            public int inverse(int symmetry) {
+                return geometry.inverse(symmetry);
+            }
+
+            @Override
+            public long canonical(long board, int[] group) {
+                return geometry.canonical(board, group);
+            }
+        };
+    }
+
+    /**
+     * @return the symmetries that leave the board unchanged, identity first
+     */
+    int[] stabilizer(long board);
+
+    long transform(long board, int symmetry);
+
+    int inverse(int symmetry);
+
+    // smallest image of the board over a subgroup, e.g. a stabilizer
+    long canonical(long board, int[] group);
+}
@@ -0,0 +1,53 @@
+package solver;
+
+/**
+ * Thread-safe set of primitive longs, striped over independently locked LongHashSets.
+ */
+final class ConcurrentLongHashSet {
+
+    private static final int STRIPE_CAPACITY = 256;
+
+    private final LongHashSet[] stripes;
+    private final int shift;
+
+    /**
+     * @param stripeCount number of lock stripes, rounded up to a power of two
+     */
+    ConcurrentLongHashSet(int stripeCount) {
+        int n = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new LongHashSet[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new LongHashSet(STRIPE_CAPACITY, false);
+        }
+        shift = 64 - Integer.numberOfTrailingZeros(n);
+    }
+
+    boolean add(long key) {
+        LongHashSet stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.add(key);
+        }
+    }
+
+    boolean contains(long key) {
+        LongHashSet stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.contains(key);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (LongHashSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // top bits of a Fibonacci hash, independent of the low bits each stripe probes with
+    private LongHashSet stripeFor(long key) {
+        return shift == 64 ? stripes[0] : stripes[(int) ((key * 0x9E3779B97F4A7C15L) >>> shift)];
+    }
+}
@@ -1,19 +1,46 @@
 package solver;
 
+import base.BoardGeometry;
 import base.IPegSolitaireSolver;
+import base.MoveEngine;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
 
 
 public class DFSSolver implements IPegSolitaireSolver {
 
+    /**
+     * Which symmetries the visited set folds together. A board may only stand in for its mirror images
+     * if they lead to the same goal, so the group has to fix what the search is looking for.
+     */
+    public enum SymmetryReduction {
+        // symmetries of the goal board, found once per solve; none at all for a goal without symmetry
+        GOAL_STABILIZER,
+        // symmetries of the start board, searching towards every image of the goal under them at once;
+        // a path to an image is mapped back afterwards. All 8 for the standard full-board start
+        GOAL_IMAGES,
+        // whichever of the two is the larger group for this start and goal
+        LARGER_GROUP
+    }
+
+    /**
+     * Where the visited boards go. The bitset costs one bit per possible board (pages allocated on first use,
+     * up to 1 GiB) and pays off on large searches; it needs the English board and falls back to HASH elsewhere.
+     * The default comes from the system property pegsolitaire.visited (hash or bitset).
+     */
+    public enum VisitedStore {
+        HASH,
+        BITSET
+    }
 
-    private static final int SIZE = 7;
-    private static final int BOARD_SIZE = 49; 
+    private static final VisitedStore DEFAULT_VISITED_STORE =
+            VisitedStore.valueOf(System.getProperty("pegsolitaire.visited", "hash").toUpperCase(Locale.ROOT));
 
-    // Invalid fields bitmask for standard English board shape
-    private static final long INVALID_FIELDS_MASK = 438808218710499L;
-    
     private static final class Move {
         final long fromMask;
         final long jumpedMask;
@@ -26,227 +53,415 @@ public class DFSSolver implements IPegSolitaireSolver {
         }
     }
 
-    // Precompute all valid moves
-    private static final List<Move> ALL_MOVES = buildMoveTable();
-
-    private static List<Move> buildMoveTable() {
-        List<Move> moves = new ArrayList<>();
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                int pos = r * SIZE + c;
-
-                // Right
-                if (c + 2 < SIZE) {
-                    int jumped = pos + 1;
-                    int landing = pos + 2;
-                    long fm = 1L << pos, jm = 1L << jumped, tm = 1L << landing;
-                    if (((fm | jm | tm) & INVALID_FIELDS_MASK) == 0) {
-                        moves.add(new Move(fm, jm, tm));
-                    }
-                }
-                // Left
-                if (c - 2 >= 0) {
-                    int jumped = pos - 1;
-                    int landing = pos - 2;
-                    long fm = 1L << pos, jm = 1L << jumped, tm = 1L << landing;
-                    if (((fm | jm | tm) & INVALID_FIELDS_MASK) == 0) {
-                        moves.add(new Move(fm, jm, tm));
-                    }
-                }
-                // Down
-                if (r + 2 < SIZE) {
-                    int jumped = (r + 1) * SIZE + c;
-                    int landing = (r + 2) * SIZE + c;
-                    long fm = 1L << pos, jm = 1L << jumped, tm = 1L << landing;
-                    if (((fm | jm | tm) & INVALID_FIELDS_MASK) == 0) {
-                        moves.add(new Move(fm, jm, tm));
-                    }
-                }
-                // Up
-                if (r - 2 >= 0) {
-                    int jumped = (r - 1) * SIZE + c;
-                    int landing = (r - 2) * SIZE + c;
-                    long fm = 1L << pos, jm = 1L << jumped, tm = 1L << landing;
-                    if (((fm | jm | tm) & INVALID_FIELDS_MASK) == 0) {
-                        moves.add(new Move(fm, jm, tm));
-                    }
-                }
-            }
+    // Precompute all valid moves of the board
+    private static Move[] buildMoveTable(BoardGeometry geometry) {
+        Move[] moves = new Move[geometry.moveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = new Move(geometry.fromMask(i), geometry.jumpedMask(i), geometry.toMask(i));
         }
         return moves;
     }
 
-
-    private static final int[] ROTATE90_INDEX   = new int[BOARD_SIZE];
-    private static final int[] ROTATE180_INDEX  = new int[BOARD_SIZE];
-    private static final int[] ROTATE270_INDEX  = new int[BOARD_SIZE];
-    private static final int[] FLIP_H_INDEX     = new int[BOARD_SIZE];
-    private static final int[] FLIP_V_INDEX     = new int[BOARD_SIZE];
-    private static final int[] FLIP_D_INDEX     = new int[BOARD_SIZE];  
-    private static final int[] FLIP_D2_INDEX    = new int[BOARD_SIZE];  
-
-    static {
-        buildSymmetryIndexes();
+    // Return minimal bitboard over all 8 symmetries
+    static long getCanonicalSymmetry(long board) {
+        return Symmetry.canonical(board);
     }
 
-    private static void buildSymmetryIndexes() {
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                int i = r * SIZE + c;
-
-                // For rotate90: (r,c) -> (c, 6-r)
-                int r90r = c;
-                int r90c = SIZE - 1 - r;
-                ROTATE90_INDEX[i] = r90r * SIZE + r90c;
-
-                // rotate180: (r,c) -> (6-r, 6-c)
-                int r180r = SIZE - 1 - r;
-                int r180c = SIZE - 1 - c;
-                ROTATE180_INDEX[i] = r180r * SIZE + r180c;
-
-                // rotate270: (r,c) -> (6-c, r)
-                int r270r = SIZE - 1 - c;
-                int r270c = r;
-                ROTATE270_INDEX[i] = r270r * SIZE + r270c;
-
-                // flipH (horizontal): (r,c) -> (r, 6-c)
-                int fhc = SIZE - 1 - c;
-                FLIP_H_INDEX[i] = r * SIZE + fhc;
-
-                // flipV (vertical): (r,c) -> (6-r, c)
-                int fvr = SIZE - 1 - r;
-                FLIP_V_INDEX[i] = fvr * SIZE + c;
-
-                // flipD (main diagonal): (r,c) -> (c, r)
-                FLIP_D_INDEX[i] = c * SIZE + r;
-
-                // flipD2 (secondary diagonal): (r,c) -> (6-c, 6-r)
-                int fd2r = SIZE - 1 - c;
-                int fd2c = SIZE - 1 - r;
-                FLIP_D2_INDEX[i] = fd2r * SIZE + fd2c;
-            }
-        }
+    private final BoardGeometry geometry;
+    // the English board keeps its table-driven symmetry and invariant pruning, other shapes use the geometry alone
+    private final boolean english;
+    // chosen once here, so the search never branches on the board shape per node
+    private final BoardSymmetries symmetries;
+    private final Move[] moves;
+    // vector engine when -Dpegsolitaire.moves=vector and it is available, else null and the loop over moves is used
+    private final MoveEngine bulkMoves;
+    private final SymmetryReduction reduction;
+    private final VisitedStore visitedStore;
+    // Invalid fields bitmask for the board shape
+    private final long invalidFieldsMask;
+
+    // 33 pegs at most, so at most 32 moves
+    private static final int MAX_PATH_LENGTH = 33;
+    private static final Invariants.Pagoda[] NO_PAGODAS = new Invariants.Pagoda[0];
+    // Search.run result when the budget ran out
+    private static final int ABORTED = -1;
+
+    // dead ends remembered across solve calls
+    private static final int DEAD_END_CACHE_CAPACITY = 1 << 18;
+
+    // endgame tables: built backward from the goal, only for searches deep enough to pay for them
+    private static final int ENDGAME_MIN_DEPTH = 12;
+    private static final int ENDGAME_PLIES = 8;
+    private static final int ENDGAME_ENTRIES = 1 << 14;
+    // goals whose tables are kept, all are dropped once there are more
+    private static final int MAX_ENDGAME_TABLES = 64;
+
+    // shared by every thread using this instance, DeadEndCache is thread-safe
+    private final DeadEndCache deadEnds;
+    private final Map<Long, EndgameTable> endgames = new ConcurrentHashMap<>();
+    private final SearchContextPool<Search> searches = new SearchContextPool<>(Search::new);
+
+    public DFSSolver() {
+        this(BoardGeometry.ENGLISH, DEAD_END_CACHE_CAPACITY);
     }
 
-    // Transformed board
-    private static long transformBoard(long board, int[] transformIndex) {
-        long result = 0L;
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            // if bit i is set in 'board'
-            if ((board & (1L << i)) != 0) {
-                int j = transformIndex[i];
-                // set bit j in result
-                result |= (1L << j);
-            }
-        }
-        return result;
+    /**
+     * @param deadEndCacheCapacity entries in the cross-call dead-end cache, 0 disables it
+     */
+    public DFSSolver(int deadEndCacheCapacity) {
+        this(BoardGeometry.ENGLISH, deadEndCacheCapacity);
     }
 
-    // Return minimal bitboard (to avoid duplicates)
-    private static long getCanonicalSymmetry(long board) {
-        long best = board;
-
-        long r90  = transformBoard(board, ROTATE90_INDEX);
-        long r180 = transformBoard(board, ROTATE180_INDEX);
-        long r270 = transformBoard(board, ROTATE270_INDEX);
-        long fH   = transformBoard(board, FLIP_H_INDEX);
-        long fV   = transformBoard(board, FLIP_V_INDEX);
-        long fD   = transformBoard(board, FLIP_D_INDEX);
-        long fD2  = transformBoard(board, FLIP_D2_INDEX);
-
-        best = Math.min(best, r90);
-        best = Math.min(best, r180);
-        best = Math.min(best, r270);
-        best = Math.min(best, fH);
-        best = Math.min(best, fV);
-        best = Math.min(best, fD);
-        best = Math.min(best, fD2);
-
-        return best;
+    /**
+     * @param geometry board shape, at most 64 cells
+     */
+    public DFSSolver(BoardGeometry geometry) {
+        this(geometry, DEAD_END_CACHE_CAPACITY);
     }
 
+    /**
+     * @param geometry board shape, at most 64 cells
+     * @param deadEndCacheCapacity entries in the cross-call dead-end cache, 0 disables it
+     */
+    public DFSSolver(BoardGeometry geometry, int deadEndCacheCapacity) {
+        this(geometry, deadEndCacheCapacity, SymmetryReduction.LARGER_GROUP);
+    }
 
+    /**
+     * @param geometry board shape, at most 64 cells
+     * @param deadEndCacheCapacity entries in the cross-call dead-end cache, 0 disables it
+     * @param reduction symmetries folded together by the visited set
+     */
+    public DFSSolver(BoardGeometry geometry, int deadEndCacheCapacity, SymmetryReduction reduction) {
+        this(geometry, deadEndCacheCapacity, reduction, DEFAULT_VISITED_STORE);
+    }
 
-
-    
-    private Set<Long> visited;
-    private List<Long> solutionPath;
+    /**
+     * @param geometry board shape, at most 64 cells
+     * @param deadEndCacheCapacity entries in the cross-call dead-end cache, 0 disables it
+     * @param reduction symmetries folded together by the visited set
+     * @param visitedStore hash table or bitset for the visited boards
+     */
+    public DFSSolver(BoardGeometry geometry, int deadEndCacheCapacity, SymmetryReduction reduction, VisitedStore visitedStore) {
+        if (!geometry.fitsInLong()) {
+            throw new IllegalArgumentException("DFSSolver needs a board of at most 64 cells, use WideDFSSolver for " + geometry);
+        }
+        this.geometry = geometry;
+        this.english = geometry == BoardGeometry.ENGLISH;
+        this.symmetries = BoardSymmetries.of(geometry);
+        this.moves = buildMoveTable(geometry);
+        MoveEngine engine = MoveEngine.forGeometry(geometry);
+        this.bulkMoves = engine.vectorized() ? engine : null;
+        this.reduction = reduction;
+        this.visitedStore = english ? visitedStore : VisitedStore.HASH;
+        this.invalidFieldsMask = geometry.invalidMask();
+        this.deadEnds = deadEndCacheCapacity > 0 ? new DeadEndCache(deadEndCacheCapacity) : null;
+    }
 
     @Override
     public long[] solve(long initialBoard, long goalBoard) {
-        visited = new HashSet<>();
-        solutionPath = new ArrayList<>();
-
-        int startCount = Long.bitCount(initialBoard);
-        int goalCount = Long.bitCount(goalBoard);
-        // max depth ==> difference in peg count
-        int maxDepth = startCount - goalCount;
+        return solve(initialBoard, goalBoard, null);
+    }
 
-        // impossible
-        if (maxDepth < 0) {
-            return new long[0];
-        }
-        // already solved
-        if (initialBoard == goalBoard) {
-            return new long[] { initialBoard };
+    @Override
+    public long[] solve(long initialBoard, long goalBoard, SolverStats stats) {
+        Search search = searches.acquire();
+        try {
+            // run may replace path with a longer one, so it has to finish before path is read
+            int length = search.run(initialBoard, goalBoard, SearchBudget.UNLIMITED, stats);
+            return Arrays.copyOf(search.path, length);
+        } finally {
+            searches.release(search);
         }
+    }
 
-        List<Long> path = new ArrayList<>();
-        path.add(initialBoard);
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        Search search = searches.acquire();
+        try {
+            int length = search.run(initialBoard, goalBoard, budget, stats);
+            return length == ABORTED ? SolveResult.unknown() : SolveResult.of(Arrays.copyOf(search.path, length));
+        } finally {
+            searches.release(search);
+        }
+    }
 
-        boolean found = dfs(initialBoard, goalBoard, path, 0, maxDepth);
-        if (found) {
-            // convert List<Long> to long[]
-            return solutionPath.stream().mapToLong(Long::longValue).toArray();
-        } else {
-            return new long[0]; // no solution
+    @Override
+    public boolean solveStreaming(long initialBoard, long goalBoard, LongConsumer boards) {
+        Search search = searches.acquire();
+        try {
+            int length = search.run(initialBoard, goalBoard, SearchBudget.UNLIMITED, null);
+            for (int i = 0; i < length; i++) {
+                boards.accept(search.path[i]);
+            }
+            return length > 0;
+        } finally {
+            searches.release(search);
         }
     }
 
-    private boolean dfs(long current, long goal, List<Long> path, int depth, int maxDepth) {
-        
-        if (current == goal) {
-            solutionPath = new ArrayList<>(path);
-            return true;
+    // per-call state; pooled, and a call holds its own until it ends, so concurrent solve calls never share one
+    private final class Search {
+        private final VisitedSet visited = visitedStore == VisitedStore.BITSET ? new BitsetVisitedSet() : new LongHashSet();
+        // path[depth] = board on the current branch, reused between calls instead of a boxed list
+        private long[] path = new long[MAX_PATH_LENGTH];
+        // successors[depth] = moves out of path[depth], only filled by the vector engine
+        private long[][] successors = new long[0][];
+        // symmetries the visited set folds together, and the goal images any of which ends the search
+        private int[] group;
+        private long[] targets;
+        // per target; no pagodas and no pattern tables off the English board
+        private Invariants.Pagoda[][] pagodas;
+        private int[][] goalPagodaValues;
+        private DeadPatterns[] deadPatterns;
+        // null when the dead-end cache does not apply to this search
+        private DeadEndCache cache;
+        // null for shallow searches
+        private EndgameTable endgame;
+        private SearchBudget budget;
+        private long nextCheck;
+        private boolean aborted;
+
+        // counters of the current search, handed to SolverStats when it ends
+        private long nodesExpanded;
+        private long visitedHits;
+        private long cacheHits;
+        private long prunedBranches;
+        private int deepest;
+
+        /**
+         * @return number of boards of the solution at the start of path, 0 if there is none, ABORTED if the budget ran out
+         */
+        private int run(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+            this.budget = budget;
+            nextCheck = budget.nextCheck(0);
+            // already cancelled or past the deadline
+            aborted = budget.exhausted(0);
+            nodesExpanded = 0;
+            visitedHits = 0;
+            cacheHits = 0;
+            prunedBranches = 0;
+            deepest = 0;
+            visited.clear();
+            int length = aborted ? 0 : search(initialBoard, goalBoard);
+            if (stats != null) {
+                stats.add(nodesExpanded, visitedHits, cacheHits, prunedBranches, deepest, visited.size());
+            }
+            return aborted ? ABORTED : length;
         }
 
-        if (depth == maxDepth) {
-            return false;
+        private int search(long initialBoard, long goalBoard) {
+            int startCount = Long.bitCount(initialBoard);
+            int goalCount = Long.bitCount(goalBoard);
+            // max depth ==> difference in peg count
+            int maxDepth = startCount - goalCount;
+
+            // impossible
+            if (maxDepth < 0) {
+                return 0;
+            }
+            path[0] = initialBoard;
+            // already solved
+            if (initialBoard == goalBoard) {
+                return 1;
+            }
+
+            int[] goalGroup = symmetries.stabilizer(goalBoard);
+            int[] startGroup = reduction == SymmetryReduction.GOAL_STABILIZER ? goalGroup
+                    : symmetries.stabilizer(initialBoard);
+            if (reduction == SymmetryReduction.GOAL_IMAGES
+                    || reduction == SymmetryReduction.LARGER_GROUP && startGroup.length > goalGroup.length) {
+                group = startGroup;
+                targets = Arrays.stream(group)
+                        .mapToLong(t -> symmetries.transform(goalBoard, t))
+                        .distinct().toArray();
+            } else {
+                group = goalGroup;
+                targets = new long[] { goalBoard };
+            }
+            // cached dead ends mean "cannot reach the goal"; a board that misses one image may still reach another
+            cache = targets.length == 1 ? deadEnds : null;
+
+            // position classes and pagoda functions rule out most unreachable pairs without searching
+            pagodas = new Invariants.Pagoda[targets.length][];
+            goalPagodaValues = new int[targets.length][];
+            deadPatterns = new DeadPatterns[english ? targets.length : 0];
+            boolean mayReach = !english;
+            for (int g = 0; g < targets.length; g++) {
+                pagodas[g] = english ? Invariants.goalPagodas(targets[g], Invariants.MAX_GOAL_PAGODAS) : NO_PAGODAS;
+                goalPagodaValues[g] = new int[pagodas[g].length];
+                for (int i = 0; i < pagodas[g].length; i++) {
+                    goalPagodaValues[g][i] = pagodas[g][i].value(targets[g]);
+                }
+                if (english) {
+                    deadPatterns[g] = DeadPatterns.forGoal(targets[g]);
+                    mayReach |= Invariants.mayReach(initialBoard, targets[g], pagodas[g]);
+                }
+            }
+            if (!mayReach) {
+                return 0;
+            }
+            // only pairs that pass the invariants pay for the table
+            endgame = maxDepth >= ENDGAME_MIN_DEPTH ? endgame(goalBoard) : null;
+            if (path.length <= maxDepth) {
+                path = new long[maxDepth + 1];
+                path[0] = initialBoard;
+            }
+            if (bulkMoves != null && successors.length < maxDepth) {
+                successors = new long[Math.max(maxDepth, MAX_PATH_LENGTH)][moves.length];
+            }
+
+            // every solution has exactly maxDepth moves
+            if (!dfs(initialBoard, goalBoard, 0, maxDepth)) {
+                return 0;
+            }
+            // reached an image of the goal: the inverse symmetry fixes the start and maps the path onto the goal
+            long reached = path[maxDepth];
+            if (reached != goalBoard) {
+                for (int t : group) {
+                    if (symmetries.transform(goalBoard, t) == reached) {
+                        int inverse = symmetries.inverse(t);
+                        for (int i = 0; i <= maxDepth; i++) {
+                            path[i] = symmetries.transform(path[i], inverse);
+                        }
+                        break;
+                    }
+                }
+            }
+            return maxDepth + 1;
         }
 
-        // Symmetry prune
-        long canonical = getCanonicalSymmetry(current);
-        if (visited.contains(canonical)) {
+        private boolean isTarget(long board) {
+            for (long target : targets) {
+                if (board == target) {
+                    return true;
+                }
+            }
             return false;
         }
-        visited.add(canonical);
-
-        // Generate next states via precomputed moves
-        for (Move mv : ALL_MOVES) {
-            // Check if its a valid move (there has to be a peg at from and jumped but to has to be clear)
-            if (((current & mv.fromMask) != 0) 
-             && ((current & mv.jumpedMask) != 0)
-             && ((current & mv.toMask) == 0)) 
-            {
-                // remove peg from 'from' and 'jumped' positions, add peg to 'to' position
-                long nextBoard = current;
-                nextBoard &= ~mv.fromMask;
-                nextBoard &= ~mv.jumpedMask;
-                nextBoard |= mv.toMask;
-
-                // peg gets placed outside the board ==> invalid move
-                if ((nextBoard & INVALID_FIELDS_MASK) != 0) {
-                    continue;
+
+        // true if the board can reach none of the targets in movesLeft moves
+        private boolean hopeless(long board, int movesLeft) {
+            for (int g = 0; g < targets.length; g++) {
+                if (!Invariants.belowGoal(board, pagodas[g], goalPagodaValues[g])
+                        && (deadPatterns.length == 0 || !deadPatterns[g].hopeless(board, movesLeft))) {
+                    return false;
                 }
+            }
+            return true;
+        }
+
+        private boolean dfs(long current, long goal, int depth, int maxDepth) {
+
+            deepest = Math.max(deepest, depth);
+            if (current == goal || targets.length > 1 && isTarget(current)) {
+                return true;
+            }
+
+            if (depth == maxDepth) {
+                return false;
+            }
 
-                path.add(nextBoard);
-                if (dfs(nextBoard, goal, path, depth + 1, maxDepth)) {
+            // the last moves come from the endgame table; a board on its top level that is not in it cannot reach
+            // the goal, though it may still reach another target
+            if (endgame != null && maxDepth - depth <= endgame.plies()) {
+                if (endgame.contains(current)) {
+                    endgame.fillTail(current, path, depth);
                     return true;
                 }
-                path.remove(path.size() - 1);
+                if (targets.length == 1) {
+                    prunedBranches++;
+                    return false;
+                }
+            }
+
+            // Pagoda prune (the value can only drop from here on), then the arm and parity-class tables
+            if (hopeless(current, maxDepth - depth)) {
+                prunedBranches++;
+                return false;
+            }
+
+            // Symmetry prune, only over symmetries that keep the targets
+            long canonical = symmetries.canonical(current, group);
+            if (!visited.add(canonical)) {
+                visitedHits++;
+                return false;
+            }
+            // already found hopeless by an earlier solve towards the same goal
+            if (cache != null && cache.contains(goal, canonical)) {
+                cacheHits++;
+                return false;
+            }
+            // budget is checked every few nodes only, a stopped search unwinds without touching the dead-end cache
+            if (++nodesExpanded >= nextCheck) {
+                if (budget.exhausted(nodesExpanded)) {
+                    aborted = true;
+                    return false;
+                }
+                nextCheck = budget.nextCheck(nodesExpanded);
+            }
+
+            if (bulkMoves != null) {
+                long[] next = successors[depth];
+                int count = bulkMoves.successors(current, next);
+                for (int i = 0; i < count; i++) {
+                    path[depth + 1] = next[i];
+                    if (dfs(next[i], goal, depth + 1, maxDepth)) {
+                        return true;
+                    }
+                    if (aborted) {
+                        return false;
+                    }
+                }
+                if (cache != null) {
+                    cache.add(goal, canonical);
+                }
+                return false;
+            }
+
+            // Generate next states via precomputed moves
+            for (Move mv : moves) {
+                // Check if its a valid move (there has to be a peg at from and jumped but to has to be clear)
+                if (((current & mv.fromMask) != 0)
+                 && ((current & mv.jumpedMask) != 0)
+                 && ((current & mv.toMask) == 0))
+                {
+                    // remove peg from 'from' and 'jumped' positions, add peg to 'to' position
+                    long nextBoard = current;
+                    nextBoard &= ~mv.fromMask;
+                    nextBoard &= ~mv.jumpedMask;
+                    nextBoard |= mv.toMask;
+
+                    // peg gets placed outside the board ==> invalid move
+                    if ((nextBoard & invalidFieldsMask) != 0) {
+                        continue;
+                    }
+
+                    path[depth + 1] = nextBoard;
+                    if (dfs(nextBoard, goal, depth + 1, maxDepth)) {
+                        return true;
+                    }
+                    if (aborted) {
+                        return false;
+                    }
+                }
+            }
+            if (cache != null) {
+                cache.add(goal, canonical);
+            }
+            return false;
+        }
+    }
+
+    private EndgameTable endgame(long goal) {
+        EndgameTable table = endgames.get(goal);
+        if (table == null) {
+            if (endgames.size() >= MAX_ENDGAME_TABLES) {
+                endgames.clear();
             }
+            table = endgames.computeIfAbsent(goal, g -> EndgameTable.build(geometry, g, ENDGAME_PLIES, ENDGAME_ENTRIES));
         }
-        return false;
+        return table;
     }
 
     @Override
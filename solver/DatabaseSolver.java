@@ -0,0 +1,133 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Answers from memory-mapped reachability databases (see ReachabilityDatabaseBuilder) when one was built for the
+ * query's goal: a board in the database is solved by always stepping to a successor that is also in it.
+ * Everything else goes to DFSSolver.
+ * The files are taken from the system property pegsolitaire.db (comma separated, default reachability.db).
+ */
+public class DatabaseSolver implements IPegSolitaireSolver {
+
+    private final List<ReachabilityDatabase> databases = new ArrayList<>();
+    private final DFSSolver fallback = new DFSSolver();
+
+    public DatabaseSolver() {
+        for (String file : System.getProperty("pegsolitaire.db", "reachability.db").split(",")) {
+            Path path = Path.of(file.trim());
+            if (Files.isRegularFile(path)) {
+                try {
+                    databases.add(ReachabilityDatabase.open(path));
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Skipping reachability database " + path + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        ReachabilityDatabase database = databaseFor(initialBoard, goalBoard);
+        if (database == null) {
+            return fallback.solve(initialBoard, goalBoard);
+        }
+        long[] path = new long[Long.bitCount(initialBoard) - Long.bitCount(goalBoard) + 1];
+        path[0] = initialBoard;
+        for (int depth = 0; depth < path.length - 1; depth++) {
+            path[depth + 1] = successor(database, path[depth]);
+        }
+        return path;
+    }
+
+    // a database walk never searches, so only the fallback needs the budget
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        if (databaseFor(initialBoard, goalBoard) == null) {
+            return fallback.solveWithin(initialBoard, goalBoard, budget, stats);
+        }
+        return SolveResult.of(solve(initialBoard, goalBoard));
+    }
+
+    // every board is handed over as soon as it is picked, the first move is out after a single lookup
+    @Override
+    public boolean solveStreaming(long initialBoard, long goalBoard, LongConsumer boards) {
+        ReachabilityDatabase database = databaseFor(initialBoard, goalBoard);
+        if (database == null) {
+            return fallback.solveStreaming(initialBoard, goalBoard, boards);
+        }
+        boards.accept(initialBoard);
+        for (long current = initialBoard; current != goalBoard; ) {
+            current = successor(database, current);
+            boards.accept(current);
+        }
+        return true;
+    }
+
+    // the successor of a board is looked up only when the caller asks for it
+    @Override
+    public PrimitiveIterator.OfLong solveLazily(long initialBoard, long goalBoard) {
+        ReachabilityDatabase database = databaseFor(initialBoard, goalBoard);
+        if (database == null) {
+            return fallback.solveLazily(initialBoard, goalBoard);
+        }
+        return new PrimitiveIterator.OfLong() {
+            private long current;
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                return !started || current != goalBoard;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                current = started ? successor(database, current) : initialBoard;
+                started = true;
+                return current;
+            }
+        };
+    }
+
+    private ReachabilityDatabase databaseFor(long initialBoard, long goalBoard) {
+        for (ReachabilityDatabase database : databases) {
+            if (database.goal() == goalBoard && database.contains(initialBoard)) {
+                return database;
+            }
+        }
+        return null;
+    }
+
+    // every board in the database except the goal has a successor in the database
+    private static long successor(ReachabilityDatabase database, long current) {
+        for (int i = 0; i < Moves.COUNT; i++) {
+            if ((current & Moves.FROM[i]) != 0 && (current & Moves.JUMPED[i]) != 0 && (current & Moves.TO[i]) == 0) {
+                long nextBoard = (current & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i];
+                if (database.contains(nextBoard)) {
+                    return nextBoard;
+                }
+            }
+        }
+        throw new IllegalStateException("Reachability database has a dead end at " + current);
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+}
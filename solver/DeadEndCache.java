@@ -0,0 +1,88 @@
+package solver;
+
+/**
+ * Bounded cache of (goal, canonical board) pairs known not to reach the goal, kept across solve calls.
+ * Set-associative: each key hashes to a set of WAYS slots, and a full set evicts with a per-set CLOCK hand.
+ * Thread-safe: sets are guarded by striped locks, so an entry is never seen with the goal of one pair and the board of another.
+ */
+final class DeadEndCache {
+
+    private static final int WAYS = 4;
+    private static final int LOCK_STRIPES = 64;
+
+    private final long[] goals;
+    private final long[] boards;
+    private final boolean[] referenced;
+    private final byte[] hands;
+    private final int setMask;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * @param capacity number of entries, rounded up to a power of two sets
+     */
+    DeadEndCache(int capacity) {
+        int wanted = Math.max(1, (capacity + WAYS - 1) / WAYS);
+        int sets = Integer.highestOneBit(wanted);
+        if (sets < wanted) {
+            sets <<= 1;
+        }
+        goals = new long[sets * WAYS];
+        boards = new long[sets * WAYS];
+        referenced = new boolean[sets * WAYS];
+        hands = new byte[sets];
+        setMask = sets - 1;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    boolean contains(long goal, long board) {
+        if (board == 0) {
+            return false;
+        }
+        int set = set(goal, board);
+        int base = set * WAYS;
+        synchronized (locks[set & (LOCK_STRIPES - 1)]) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (boards[slot] == board && goals[slot] == goal) {
+                    referenced[slot] = true;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // board 0 marks an empty slot, the empty board is never worth caching
+    void add(long goal, long board) {
+        if (board == 0) {
+            return;
+        }
+        int set = set(goal, board);
+        int base = set * WAYS;
+        synchronized (locks[set & (LOCK_STRIPES - 1)]) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (boards[slot] == 0 || (boards[slot] == board && goals[slot] == goal)) {
+                    goals[slot] = goal;
+                    boards[slot] = board;
+                    referenced[slot] = false;
+                    return;
+                }
+            }
+            // CLOCK: give referenced entries a second chance, evict the first one that was not used since the last pass
+            int hand = hands[set];
+            while (referenced[base + hand]) {
+                referenced[base + hand] = false;
+                hand = (hand + 1) % WAYS;
+            }
+            goals[base + hand] = goal;
+            boards[base + hand] = board;
+            hands[set] = (byte) ((hand + 1) % WAYS);
+        }
+    }
+
+    private int set(long goal, long board) {
+        long h = board * 0x9E3779B97F4A7C15L ^ goal * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ h >>> 32) & setMask;
+    }
+}
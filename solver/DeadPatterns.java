@@ -0,0 +1,164 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Local pattern tables that reject a board in the middle of the search, English board only.
+ * <p>
+ * Arms: no move touches two of the four 2x3 arms of the cross, so every move left is spent on at most one arm.
+ * For each arm a table indexed by (goal pattern, pattern) holds the fewest moves that touch the arm needed to turn
+ * one 6-bit pattern into the other, with the fields outside the arm allowed to be whatever a move needs.
+ * If the arms together need more moves than the board has pegs to lose, the goal is out of reach;
+ * this catches corner pegs that cannot be cleared in time and arms that cannot be refilled.
+ * <p>
+ * Parity classes: a peg always jumps two fields, so it never leaves its (row mod 2, column mod 2) class.
+ * A class with fewer pegs than the goal needs there can never fill its goal holes, and a class with surplus pegs
+ * but no pegs in either neighbouring class has nothing left that could jump them.
+ */
+final class DeadPatterns {
+
+    private static final int SIZE = 7;
+    private static final int ARMS = 4;
+    private static final int ARM_FIELDS = 6;
+    private static final int PATTERNS = 1 << ARM_FIELDS;
+    // no path between the two patterns, more than any board has moves left
+    private static final byte UNREACHABLE = 64;
+
+    // top, bottom, left, right; fields in the order armPattern packs them
+    private static final int[][] ARM_CELLS = {
+        {2, 3, 4, 9, 10, 11},
+        {37, 38, 39, 44, 45, 46},
+        {14, 15, 21, 22, 28, 29},
+        {19, 20, 26, 27, 33, 34},
+    };
+
+    // DISTANCE[arm][goalPattern << 6 | pattern] = fewest moves touching the arm from pattern to goalPattern
+    private static final byte[][] DISTANCE = new byte[ARMS][PATTERNS * PATTERNS];
+
+    // valid fields by (row mod 2) * 2 + (column mod 2); classes 0 and 3 neighbour 1 and 2, and the other way round
+    private static final long[] PARITY_CLASS = new long[4];
+
+    static {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                long bit = 1L << (r * SIZE + c);
+                if ((bit & Moves.INVALID_FIELDS_MASK) == 0) {
+                    PARITY_CLASS[(r & 1) * 2 + (c & 1)] |= bit;
+                }
+            }
+        }
+        for (int arm = 0; arm < ARMS; arm++) {
+            buildDistances(arm);
+        }
+    }
+
+    private final int[] goalOffset = new int[ARMS];
+    private final int[] goalClassCount = new int[4];
+
+    private DeadPatterns(long goal) {
+        for (int arm = 0; arm < ARMS; arm++) {
+            goalOffset[arm] = armPattern(goal, arm) << ARM_FIELDS;
+        }
+        for (int i = 0; i < 4; i++) {
+            goalClassCount[i] = Long.bitCount(goal & PARITY_CLASS[i]);
+        }
+    }
+
+    static DeadPatterns forGoal(long goal) {
+        return new DeadPatterns(goal);
+    }
+
+    /**
+     * @param movesLeft moves until the goal's peg count is reached
+     * @return true if the board can certainly not reach the goal
+     */
+    boolean hopeless(long board, int movesLeft) {
+        int needed = DISTANCE[0][goalOffset[0] | armPattern(board, 0)]
+                   + DISTANCE[1][goalOffset[1] | armPattern(board, 1)]
+                   + DISTANCE[2][goalOffset[2] | armPattern(board, 2)]
+                   + DISTANCE[3][goalOffset[3] | armPattern(board, 3)];
+        if (needed > movesLeft) {
+            return true;
+        }
+        int c0 = Long.bitCount(board & PARITY_CLASS[0]);
+        int c1 = Long.bitCount(board & PARITY_CLASS[1]);
+        int c2 = Long.bitCount(board & PARITY_CLASS[2]);
+        int c3 = Long.bitCount(board & PARITY_CLASS[3]);
+        return c0 < goalClassCount[0] || c1 < goalClassCount[1] || c2 < goalClassCount[2] || c3 < goalClassCount[3]
+            || c1 + c2 == 0 && (c0 > goalClassCount[0] || c3 > goalClassCount[3])
+            || c0 + c3 == 0 && (c1 > goalClassCount[1] || c2 > goalClassCount[2]);
+    }
+
+    // the arm's six fields as bits 0-5, two or three per board row
+    private static int armPattern(long board, int arm) {
+        switch (arm) {
+            case 0:
+                return (int) (board >>> 2) & 07 | (int) (board >>> 6) & 070;
+            case 1:
+                return (int) (board >>> 37) & 07 | (int) (board >>> 41) & 070;
+            case 2:
+                return (int) (board >>> 14) & 03 | (int) (board >>> 19) & 014 | (int) (board >>> 24) & 060;
+            default:
+                return (int) (board >>> 19) & 03 | (int) (board >>> 24) & 014 | (int) (board >>> 29) & 060;
+        }
+    }
+
+    private static void buildDistances(int arm) {
+        int[] cells = ARM_CELLS[arm];
+        // relaxed moves: only the arm's fields are checked, outside fields are assumed to fit
+        int[] required = new int[Moves.COUNT];
+        int[] occupied = new int[Moves.COUNT];
+        int[] flipped = new int[Moves.COUNT];
+        int count = 0;
+        for (int i = 0; i < Moves.COUNT; i++) {
+            int from = armBit(cells, Moves.FROM[i]);
+            int jumped = armBit(cells, Moves.JUMPED[i]);
+            int to = armBit(cells, Moves.TO[i]);
+            if ((from | jumped | to) != 0) {
+                required[count] = from | jumped | to;
+                occupied[count] = from | jumped;
+                flipped[count] = from | jumped | to;
+                count++;
+            }
+        }
+        byte[] table = DISTANCE[arm];
+        for (int goal = 0; goal < PATTERNS; goal++) {
+            byte[] distance = new byte[PATTERNS];
+            Arrays.fill(distance, UNREACHABLE);
+            distance[goal] = 0;
+            // shortest paths by relaxation, a handful of rounds on 64 patterns
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int pattern = 0; pattern < PATTERNS; pattern++) {
+                    for (int m = 0; m < count; m++) {
+                        if ((pattern & required[m]) == occupied[m]) {
+                            int next = distance[pattern ^ flipped[m]] + 1;
+                            if (next < distance[pattern]) {
+                                distance[pattern] = (byte) next;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+            System.arraycopy(distance, 0, table, goal << ARM_FIELDS, PATTERNS);
+        }
+        // the packed extraction above has to agree with the cell lists
+        for (int bit = 0; bit < ARM_FIELDS; bit++) {
+            if (armPattern(1L << cells[bit], arm) != 1 << bit) {
+                throw new IllegalStateException("Arm " + arm + " field " + cells[bit] + " is not packed to bit " + bit);
+            }
+        }
+    }
+
+    private static int armBit(int[] cells, long fieldMask) {
+        int field = Long.numberOfTrailingZeros(fieldMask);
+        for (int bit = 0; bit < cells.length; bit++) {
+            if (cells[bit] == field) {
+                return 1 << bit;
+            }
+        }
+        return 0;
+    }
+}
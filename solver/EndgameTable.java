@@ -0,0 +1,112 @@
+package solver;
+
+import base.BoardGeometry;
+
+/**
+ * Every board that reaches one goal in at most plies() moves, built backward from the goal by reverse moves
+ * (peg on 'to', holes on 'from' and 'jumped'), each mapped to the board one move closer. Levels are only kept
+ * whole, so a board plies() moves above the goal that is not in the table cannot reach the goal at all.
+ */
+final class EndgameTable {
+
+    private final long goal;
+    private final int plies;
+    private final LongLongHashMap next;
+
+    private EndgameTable(long goal, int plies, LongLongHashMap next) {
+        this.goal = goal;
+        this.plies = plies;
+        this.next = next;
+    }
+
+    /**
+     * @param maxPlies levels to build at most
+     * @param maxEntries boards to keep at most; the first level that would go past it is dropped with all later ones
+     */
+    static EndgameTable build(BoardGeometry geometry, long goal, int maxPlies, int maxEntries) {
+        int moveCount = geometry.moveCount();
+        long[] from = new long[moveCount];
+        long[] jumped = new long[moveCount];
+        long[] to = new long[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            from[i] = geometry.fromMask(i);
+            jumped[i] = geometry.jumpedMask(i);
+            to[i] = geometry.toMask(i);
+        }
+
+        LongLongHashMap next = new LongLongHashMap();
+        long[] level = { goal };
+        int plies = 0;
+        while (plies < maxPlies) {
+            LongLongHashMap above = levelAbove(level, from, jumped, to, maxEntries - next.size());
+            if (above == null) {
+                break;
+            }
+            level = above.sortedKeys();
+            for (long board : level) {
+                next.put(board, above.get(board));
+            }
+            plies++;
+            // nothing reaches the goal from further away either
+            if (level.length == 0) {
+                plies = maxPlies;
+            }
+        }
+        return new EndgameTable(goal, plies, next);
+    }
+
+    /**
+     * @return the boards one reverse move above the level, each with the board it leads to,
+     *         or null as soon as there are more than room of them
+     */
+    private static LongLongHashMap levelAbove(long[] level, long[] from, long[] jumped, long[] to, int room) {
+        LongLongHashMap above = new LongLongHashMap();
+        for (long board : level) {
+            for (int i = 0; i < to.length; i++) {
+                if ((board & to[i]) != 0 && (board & (from[i] | jumped[i])) == 0) {
+                    long previous = (board & ~to[i]) | from[i] | jumped[i];
+                    if (!above.containsKey(previous)) {
+                        if (above.size() == room) {
+                            return null;
+                        }
+                        above.put(previous, board);
+                    }
+                }
+            }
+        }
+        return above;
+    }
+
+    long goal() {
+        return goal;
+    }
+
+    /**
+     * @return moves above the goal down to which the table is complete
+     */
+    int plies() {
+        return plies;
+    }
+
+    int size() {
+        return next.size();
+    }
+
+    boolean contains(long board) {
+        return next.containsKey(board);
+    }
+
+    /**
+     * Writes the boards after a board in the table down to the goal into path[from + 1] onwards.
+     *
+     * @return index of the goal in path
+     */
+    int fillTail(long board, long[] path, int from) {
+        int i = from;
+        for (long current = board; current != goal; ) {
+            current = next.get(current);
+            path[++i] = current;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,156 @@
+package solver;
+
+/**
+ * Quantities that never change (position classes) or never grow (pagoda functions) when a move is made.
+ * They reject a start/goal pair, or a board in the middle of the search, without searching it.
+ */
+final class Invariants {
+
+    private static final int SIZE = 7;
+    private static final int ROW_MASK = (1 << SIZE) - 1;
+
+    // pagoda functions checked per goal, centred on its first few pegs
+    static final int MAX_GOAL_PAGODAS = 4;
+
+    // valid fields split by diagonal, (r + c) mod 3 and (r - c) mod 3
+    private static final long[] SUM_CLASS = new long[3];
+    private static final long[] DIFF_CLASS = new long[3];
+
+    // holes of the English board; pegs anywhere else are never moved
+    private static final long VALID_FIELDS = ((1L << (SIZE * SIZE)) - 1) & ~Moves.INVALID_FIELDS_MASK;
+
+    // PAGODAS[field] = resource function centred on that field, null for invalid fields
+    private static final Pagoda[] PAGODAS = new Pagoda[SIZE * SIZE];
+
+    static {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                long bit = 1L << (r * SIZE + c);
+                if ((bit & Moves.INVALID_FIELDS_MASK) == 0) {
+                    SUM_CLASS[(r + c) % 3] |= bit;
+                    DIFF_CLASS[(r - c + SIZE * 3) % 3] |= bit;
+                    PAGODAS[r * SIZE + c] = new Pagoda(r, c);
+                }
+            }
+        }
+    }
+
+    private Invariants() {
+    }
+
+    /**
+     * Every move takes one peg from each of the three diagonal classes or adds one to it,
+     * so the parities of the class counts flip together and their pairwise xor is fixed.
+     */
+    static boolean samePositionClass(long a, long b) {
+        return positionClass(a) == positionClass(b);
+    }
+
+    private static int positionClass(long board) {
+        int s0 = Long.bitCount(board & SUM_CLASS[0]);
+        int s1 = Long.bitCount(board & SUM_CLASS[1]);
+        int s2 = Long.bitCount(board & SUM_CLASS[2]);
+        int d0 = Long.bitCount(board & DIFF_CLASS[0]);
+        int d1 = Long.bitCount(board & DIFF_CLASS[1]);
+        int d2 = Long.bitCount(board & DIFF_CLASS[2]);
+        return ((s0 ^ s1) & 1) | ((s1 ^ s2) & 1) << 1 | ((d0 ^ d1) & 1) << 2 | ((d1 ^ d2) & 1) << 3;
+    }
+
+    /**
+     * @return the pagoda functions worth checking for this goal, one per goal peg on a valid field (at most maxCount)
+     */
+    static Pagoda[] goalPagodas(long goal, int maxCount) {
+        long pegs = goal & VALID_FIELDS;
+        Pagoda[] result = new Pagoda[Math.min(maxCount, Long.bitCount(pegs))];
+        for (int i = 0; i < result.length; i++) {
+            int field = Long.numberOfTrailingZeros(pegs);
+            pegs &= pegs - 1;
+            result[i] = PAGODAS[field];
+        }
+        return result;
+    }
+
+    /**
+     * @return false if the start can certainly not reach the goal
+     */
+    static boolean mayReach(long start, long goal, Pagoda[] pagodas) {
+        // no move touches an invalid field, so start and goal have to agree there
+        if (((start ^ goal) & ~VALID_FIELDS) != 0 || !samePositionClass(start, goal)) {
+            return false;
+        }
+        for (Pagoda pagoda : pagodas) {
+            if (pagoda.value(start) < pagoda.value(goal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param goalPagodaValues the goal's value under each of the pagodas, computed once per search
+     * @return true if the board is worth less than the goal under one of the pagodas, so it cannot reach the goal
+     */
+    static boolean belowGoal(long board, Pagoda[] pagodas, int[] goalPagodaValues) {
+        for (int i = 0; i < pagodas.length; i++) {
+            if (pagodas[i].value(board) < goalPagodaValues[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Conway's resource function around one field: a peg at Manhattan distance d is worth F(K - d),
+     * with F the Fibonacci numbers. For every move F(from) + F(jumped) >= F(to), so the total over
+     * the board can only drop; a board worth less than the goal cannot reach it.
+     */
+    static final class Pagoda {
+
+        // distance never exceeds 12, so indices stay at 2 or above where F(n) + F(n + 1) = F(n + 2) holds
+        private static final int K = 14;
+
+        // row lookup like Symmetry: table[row << 7 | pattern] = value of the pegs in that row
+        private final int[] table = new int[SIZE << SIZE];
+
+        private Pagoda(int row, int column) {
+            int[] fibonacci = new int[K + 1];
+            fibonacci[1] = 1;
+            for (int n = 2; n <= K; n++) {
+                fibonacci[n] = fibonacci[n - 1] + fibonacci[n - 2];
+            }
+            int[] weight = new int[SIZE * SIZE];
+            for (int r = 0; r < SIZE; r++) {
+                for (int c = 0; c < SIZE; c++) {
+                    weight[r * SIZE + c] = fibonacci[K - Math.abs(r - row) - Math.abs(c - column)];
+                }
+            }
+            for (int i = 0; i < Moves.COUNT; i++) {
+                int f = Long.numberOfTrailingZeros(Moves.FROM[i]);
+                int j = Long.numberOfTrailingZeros(Moves.JUMPED[i]);
+                int t = Long.numberOfTrailingZeros(Moves.TO[i]);
+                if (weight[f] + weight[j] < weight[t]) {
+                    throw new IllegalStateException("Not a pagoda function for field " + (row * SIZE + column));
+                }
+            }
+            for (int r = 0; r < SIZE; r++) {
+                for (int pattern = 0; pattern <= ROW_MASK; pattern++) {
+                    int value = 0;
+                    for (int c = 0; c < SIZE; c++) {
+                        if ((pattern & (1 << c)) != 0) {
+                            value += weight[r * SIZE + c];
+                        }
+                    }
+                    table[r << SIZE | pattern] = value;
+                }
+            }
+        }
+
+        int value(long board) {
+            int value = 0;
+            for (int r = 0; r < SIZE; r++) {
+                value += table[r << SIZE | (int) (board >>> (r * SIZE)) & ROW_MASK];
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * DFSSolver's search without recursion or per-node allocation: boards and pending moves live on
+ * preallocated primitive stacks, and legal moves are generated for a whole direction at once with bitboard shifts.
+ */
+public class IterativeSolver implements IPegSolitaireSolver {
+
+    // a board has at most 33 pegs, so no search goes deeper than 32 moves
+    private static final int MAX_DEPTH = 32;
+    // Search.run result when the budget ran out
+    private static final int ABORTED = -1;
+
+    private final SearchContextPool<Search> searches = new SearchContextPool<>(Search::new);
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        return solve(initialBoard, goalBoard, null);
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard, SolverStats stats) {
+        Search search = searches.acquire();
+        try {
+            int length = search.run(initialBoard, goalBoard, SearchBudget.UNLIMITED);
+            if (stats != null) {
+                stats.add(search.nodesExpanded, search.visitedHits, 0, search.prunedBranches, search.deepest, search.visited.size());
+            }
+            return Arrays.copyOf(search.boards, length);
+        } finally {
+            searches.release(search);
+        }
+    }
+
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        Search search = searches.acquire();
+        try {
+            int length = search.run(initialBoard, goalBoard, budget);
+            if (stats != null) {
+                stats.add(search.nodesExpanded, search.visitedHits, 0, search.prunedBranches, search.deepest, search.visited.size());
+            }
+            return length == ABORTED ? SolveResult.unknown() : SolveResult.of(Arrays.copyOf(search.boards, length));
+        } finally {
+            searches.release(search);
+        }
+    }
+
+    @Override
+    public boolean solveStreaming(long initialBoard, long goalBoard, LongConsumer boards) {
+        Search search = searches.acquire();
+        try {
+            int length = search.run(initialBoard, goalBoard, SearchBudget.UNLIMITED);
+            for (int i = 0; i < length; i++) {
+                boards.accept(search.boards[i]);
+            }
+            return length > 0;
+        } finally {
+            searches.release(search);
+        }
+    }
+
+    // per-call stacks and visited table; pooled, and a call holds its own until it ends, so concurrent solve calls never share one
+    private static final class Search {
+        private final long[] boards = new long[MAX_DEPTH + 1];
+        // pending[depth * DIRECTIONS + d] = fields still to jump from in direction d at that depth
+        private final long[] pending = new long[(MAX_DEPTH + 1) * Moves.DIRECTIONS];
+        private final LongHashSet visited = new LongHashSet();
+
+        // counters of the current search, handed to SolverStats when it ends
+        private long nodesExpanded;
+        private long visitedHits;
+        private long prunedBranches;
+        private int deepest;
+
+        /**
+         * @return number of boards of the solution at the bottom of the board stack, 0 if there is none,
+         *         ABORTED if the budget ran out
+         */
+        private int run(long initialBoard, long goalBoard, SearchBudget budget) {
+            nodesExpanded = 0;
+            visitedHits = 0;
+            prunedBranches = 0;
+            deepest = 0;
+            visited.clear();
+            // already cancelled or past the deadline
+            if (budget.exhausted(0)) {
+                return ABORTED;
+            }
+            long nextCheck = budget.nextCheck(0);
+
+            int maxDepth = Long.bitCount(initialBoard) - Long.bitCount(goalBoard);
+
+            // impossible
+            if (maxDepth < 0) {
+                return 0;
+            }
+            boards[0] = initialBoard;
+            // already solved
+            if (initialBoard == goalBoard) {
+                return 1;
+            }
+
+            Invariants.Pagoda[] pagodas = Invariants.goalPagodas(goalBoard, Invariants.MAX_GOAL_PAGODAS);
+            if (!Invariants.mayReach(initialBoard, goalBoard, pagodas)) {
+                return 0;
+            }
+            int[] goalPagodaValues = new int[pagodas.length];
+            for (int i = 0; i < pagodas.length; i++) {
+                goalPagodaValues[i] = pagodas[i].value(goalBoard);
+            }
+            DeadPatterns deadPatterns = DeadPatterns.forGoal(goalBoard);
+            // only symmetries of the goal may be folded together, a mirror image of a board leads to a mirrored goal
+            int[] group = Symmetry.stabilizer(goalBoard);
+
+            visited.add(Symmetry.canonical(initialBoard, group));
+            expand(0);
+
+            int depth = 0;
+            while (depth >= 0) {
+                // lowest field first, then right, left, down, up: the same order as DFSSolver's move table
+                int base = depth * Moves.DIRECTIONS;
+                int direction = -1;
+                int field = Long.SIZE;
+                for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                    int candidate = Long.numberOfTrailingZeros(pending[base + d]);
+                    if (candidate < field) {
+                        field = candidate;
+                        direction = d;
+                    }
+                }
+                // all moves tried, backtrack
+                if (direction < 0) {
+                    depth--;
+                    continue;
+                }
+                long from = 1L << field;
+                pending[base + direction] ^= from;
+                long nextBoard = Moves.jump(boards[depth], from, direction);
+
+                if (nextBoard == goalBoard) {
+                    deepest = Math.max(deepest, depth + 1);
+                    // the stack below holds the path, the solution is read straight from it
+                    boards[depth + 1] = nextBoard;
+                    return depth + 2;
+                }
+                if (depth + 1 == maxDepth) {
+                    continue;
+                }
+                if (Invariants.belowGoal(nextBoard, pagodas, goalPagodaValues)
+                        || deadPatterns.hopeless(nextBoard, maxDepth - depth - 1)) {
+                    prunedBranches++;
+                    continue;
+                }
+                // Symmetry prune
+                if (!visited.add(Symmetry.canonical(nextBoard, group))) {
+                    visitedHits++;
+                    continue;
+                }
+                depth++;
+                deepest = Math.max(deepest, depth);
+                boards[depth] = nextBoard;
+                expand(depth);
+                // clock and token are only looked at every few nodes
+                if (nodesExpanded >= nextCheck) {
+                    if (budget.exhausted(nodesExpanded)) {
+                        return ABORTED;
+                    }
+                    nextCheck = budget.nextCheck(nodesExpanded);
+                }
+            }
+            return 0;
+        }
+
+        private void expand(int depth) {
+            nodesExpanded++;
+            int base = depth * Moves.DIRECTIONS;
+            for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                pending[base + d] = Moves.movable(boards[depth], d);
+            }
+        }
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+}
@@ -0,0 +1,171 @@
+package solver;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of primitive longs, used as a transposition table.
+ * Keys live in a plain long[] with linear probing; 0 marks an empty slot and is tracked separately.
+ */
+final class LongHashSet implements VisitedSet {
+
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_CAPACITY = 1 << 12;
+    private static final float LOAD_FACTOR = 0.5f;
+    // clear drops a table the last fill used less than 1/SHRINK_RATIO of
+    private static final int SHRINK_RATIO = 8;
+
+    private final boolean fixedCapacity;
+    private final int initialCapacity;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean containsEmpty;
+
+    LongHashSet() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param capacity initial number of slots, rounded up to a power of two
+     * @param fixedCapacity if true the table never grows; once full, new keys are no longer stored
+     */
+    LongHashSet(int capacity, boolean fixedCapacity) {
+        this.fixedCapacity = fixedCapacity;
+        this.initialCapacity = tableSizeFor(capacity);
+        allocate(initialCapacity);
+    }
+
+    /**
+     * @return false if the key was already present, true otherwise (also when a full fixed-capacity table drops it)
+     */
+    @Override
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= resizeAt) {
+            if (fixedCapacity) {
+                return true;
+            }
+            rehash(keys.length << 1);
+            slot = mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void forEach(LongConsumer action) {
+        if (containsEmpty) {
+            action.accept(EMPTY);
+        }
+        for (long k : keys) {
+            if (k != EMPTY) {
+                action.accept(k);
+            }
+        }
+    }
+
+    long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        if (containsEmpty) {
+            result[n++] = EMPTY;
+        }
+        for (long k : keys) {
+            if (k != EMPTY) {
+                result[n++] = k;
+            }
+        }
+        return result;
+    }
+
+    // keeps the current table so repeated solves do not reallocate it, unless it is far larger than the last fill
+    // needed: after one large search a pooled set would otherwise make every later clear pay for its peak capacity
+    @Override
+    public void clear() {
+        if (!fixedCapacity && keys.length > initialCapacity && (long) size * SHRINK_RATIO < keys.length) {
+            allocate(Math.max(initialCapacity, tableSizeFor((int) (size / LOAD_FACTOR) + 1)));
+        } else {
+            Arrays.fill(keys, EMPTY);
+        }
+        size = 0;
+        containsEmpty = false;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = keys;
+        allocate(newCapacity);
+        for (long k : old) {
+            if (k != EMPTY) {
+                int slot = mix(k) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(2, capacity);
+        return n >= 1 << 30 ? 1 << 30 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // murmur3 finalizer, spreads the sparse board bits over the low slot bits
+    private static int mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
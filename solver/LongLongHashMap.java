@@ -0,0 +1,196 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long to primitive long, laid out like LongHashSet:
+ * keys and values in parallel arrays with linear probing, 0 marks an empty key slot and is tracked separately.
+ */
+final class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_CAPACITY = 1 << 12;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean containsEmpty;
+    private long emptyValue;
+
+    LongLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial number of slots, rounded up to a power of two
+     */
+    LongLongHashMap(int capacity) {
+        allocate(tableSizeFor(capacity));
+    }
+
+    /**
+     * Adds delta to the value of key, a missing key counts as 0.
+     *
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    void addTo(long key, long delta) {
+        if (key == EMPTY) {
+            if (!containsEmpty) {
+                containsEmpty = true;
+                size++;
+            }
+            emptyValue = Math.addExact(emptyValue, delta);
+            return;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) {
+                values[slot] = Math.addExact(values[slot], delta);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= resizeAt) {
+            rehash(keys.length << 1);
+            slot = mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        size++;
+    }
+
+    /**
+     * Sets the value of key, replacing any earlier one.
+     */
+    void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!containsEmpty) {
+                containsEmpty = true;
+                size++;
+            }
+            emptyValue = value;
+            return;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= resizeAt) {
+            rehash(keys.length << 1);
+            slot = mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * @return the value of key, 0 if it is missing
+     */
+    long get(long key) {
+        if (key == EMPTY) {
+            return containsEmpty ? emptyValue : 0;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the keys in ascending order
+     */
+    long[] sortedKeys() {
+        long[] result = new long[size];
+        int n = 0;
+        if (containsEmpty) {
+            result[n++] = EMPTY;
+        }
+        for (long k : keys) {
+            if (k != EMPTY) {
+                result[n++] = k;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != EMPTY) {
+                int slot = mix(k) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(2, capacity);
+        return n >= 1 << 30 ? 1 << 30 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // murmur3 finalizer, spreads the sparse board bits over the low slot bits
+    private static int mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
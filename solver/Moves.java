@@ -0,0 +1,74 @@
+package solver;
+
+import base.BoardGeometry;
+
+/**
+ * Fast path for the English board: BoardGeometry.ENGLISH's jump table as parallel mask arrays (one entry per move),
+ * plus shift-based bulk generation that relies on its 7-wide grid.
+ * Moves are listed in the same order as DFSSolver's table: per field row by row, right, left, down, up.
+ */
+final class Moves {
+
+    private static final BoardGeometry ENGLISH = BoardGeometry.ENGLISH;
+
+    static final int SIZE = ENGLISH.width();
+
+    // Invalid fields bitmask for standard English board shape
+    static final long INVALID_FIELDS_MASK = ENGLISH.invalidMask();
+
+    static final long[] FROM;
+    static final long[] JUMPED;
+    static final long[] TO;
+    static final int COUNT;
+
+    // bulk generation: one bit per field a peg can jump from, per direction (right, left, down, up)
+    static final int DIRECTIONS = 4;
+    static final int[] SHIFTS = {1, -1, SIZE, -SIZE};
+    static final long[] FROM_BY_DIRECTION = new long[DIRECTIONS];
+
+    static {
+        COUNT = ENGLISH.moveCount();
+        FROM = new long[COUNT];
+        JUMPED = new long[COUNT];
+        TO = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            FROM[i] = ENGLISH.fromMask(i);
+            JUMPED[i] = ENGLISH.jumpedMask(i);
+            TO[i] = ENGLISH.toMask(i);
+        }
+
+        for (int i = 0; i < COUNT; i++) {
+            int shift = Long.numberOfTrailingZeros(JUMPED[i]) - Long.numberOfTrailingZeros(FROM[i]);
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (SHIFTS[d] == shift) {
+                    FROM_BY_DIRECTION[d] |= FROM[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return every field from which a peg can jump in the given direction on this board
+     */
+    static long movable(long board, int direction) {
+        int shift = SHIFTS[direction];
+        if (shift > 0) {
+            return board & (board >>> shift) & ~(board >>> (2 * shift)) & FROM_BY_DIRECTION[direction];
+        }
+        return board & (board << -shift) & ~(board << (-2 * shift)) & FROM_BY_DIRECTION[direction];
+    }
+
+    /**
+     * @param from single bit of a field returned by movable
+     */
+    static long jump(long board, long from, int direction) {
+        int shift = SHIFTS[direction];
+        if (shift > 0) {
+            return board ^ (from | from << shift | from << (2 * shift));
+        }
+        return board ^ (from | from >>> -shift | from >>> (-2 * shift));
+    }
+
+    private Moves() {
+    }
+}
@@ -0,0 +1,222 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DFSSolver spread over a ForkJoinPool: the top levels of the move tree become tasks,
+ * deeper levels run sequentially, and all workers share one symmetry-reduced visited set.
+ */
+public class ParallelDFSSolver implements IPegSolitaireSolver {
+
+    // levels of the move tree that are split into tasks
+    private static final int SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    public ParallelDFSSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelDFSSolver(int parallelism) {
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    // per-call state, so one solver instance can serve concurrent solve calls
+    private static final class Search {
+        final long goal;
+        // symmetries of the goal, the only ones the visited set may fold together
+        final int[] group;
+        final int maxDepth;
+        final ConcurrentLongHashSet visited;
+        final AtomicReference<long[]> solution = new AtomicReference<>();
+        final SolverStats stats;
+        final SearchBudget budget;
+        // nodes reported by the tasks so far, in chunks of SearchBudget.CHECK_INTERVAL
+        final AtomicLong nodes = new AtomicLong();
+        volatile boolean aborted;
+
+        Search(long goal, int maxDepth, int stripes, SolverStats stats, SearchBudget budget) {
+            this.goal = goal;
+            this.group = Symmetry.stabilizer(goal);
+            this.maxDepth = maxDepth;
+            this.visited = new ConcurrentLongHashSet(stripes);
+            this.stats = stats;
+            this.budget = budget;
+        }
+
+        // another worker already won, or the budget ran out
+        boolean stopped() {
+            return aborted || solution.get() != null;
+        }
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        return solve(initialBoard, goalBoard, null);
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard, SolverStats stats) {
+        return solveWithin(initialBoard, goalBoard, SearchBudget.UNLIMITED, stats).getSolution();
+    }
+
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        // already cancelled or past the deadline
+        if (budget.exhausted(0)) {
+            return SolveResult.unknown();
+        }
+        int maxDepth = Long.bitCount(initialBoard) - Long.bitCount(goalBoard);
+
+        // impossible
+        if (maxDepth < 0) {
+            return SolveResult.of(new long[0]);
+        }
+        // already solved
+        if (initialBoard == goalBoard) {
+            return SolveResult.of(new long[] { initialBoard });
+        }
+        if (!Invariants.mayReach(initialBoard, goalBoard, Invariants.goalPagodas(goalBoard, Invariants.MAX_GOAL_PAGODAS))) {
+            return SolveResult.of(new long[0]);
+        }
+
+        Search search = new Search(goalBoard, maxDepth, parallelism * 16, stats, budget);
+        long[] path = new long[maxDepth + 1];
+        path[0] = initialBoard;
+        pool.invoke(new SearchTask(search, path, 0));
+        if (stats != null) {
+            stats.add(0, 0, 0, 0, 0, search.visited.size());
+        }
+        long[] solution = search.solution.get();
+        if (solution == null && search.aborted) {
+            return SolveResult.unknown();
+        }
+        return SolveResult.of(solution != null ? solution : new long[0]);
+    }
+
+    private static final class SearchTask extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final long[] path;
+        private final int depth;
+
+        // counters of this task, handed to the shared SolverStats when it ends
+        private long nodesExpanded;
+        private long visitedHits;
+        private int deepest;
+        // nodes not yet reported to search.nodes
+        private long unreported;
+
+        SearchTask(Search search, long[] path, int depth) {
+            this.search = search;
+            this.path = path;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Boolean compute() {
+            boolean found = depth >= SPLIT_DEPTH ? dfs(depth) : split();
+            if (search.stats != null) {
+                search.stats.add(nodesExpanded, visitedHits, 0, 0, deepest, 0);
+            }
+            return found;
+        }
+
+        private boolean split() {
+            deepest = depth;
+            long current = path[depth];
+            if (current == search.goal) {
+                return found(search, path, depth);
+            }
+            if (depth == search.maxDepth || search.stopped()) {
+                return false;
+            }
+            if (!search.visited.add(Symmetry.canonical(current, search.group))) {
+                visitedHits++;
+                return false;
+            }
+            countNode();
+
+            List<SearchTask> children = new ArrayList<>();
+            for (int i = 0; i < Moves.COUNT; i++) {
+                if ((current & Moves.FROM[i]) != 0 && (current & Moves.JUMPED[i]) != 0 && (current & Moves.TO[i]) == 0) {
+                    long[] childPath = path.clone();
+                    childPath[depth + 1] = (current & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i];
+                    children.add(new SearchTask(search, childPath, depth + 1));
+                }
+            }
+            for (SearchTask child : invokeAll(children)) {
+                if (child.join()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean dfs(int level) {
+            long current = path[level];
+            deepest = Math.max(deepest, level);
+            if (current == search.goal) {
+                return found(search, path, level);
+            }
+            // another worker already won, or the budget ran out
+            if (level == search.maxDepth || search.stopped()) {
+                return false;
+            }
+
+            // Symmetry prune
+            if (!search.visited.add(Symmetry.canonical(current, search.group))) {
+                visitedHits++;
+                return false;
+            }
+            countNode();
+
+            for (int i = 0; i < Moves.COUNT; i++) {
+                if ((current & Moves.FROM[i]) != 0 && (current & Moves.JUMPED[i]) != 0 && (current & Moves.TO[i]) == 0) {
+                    path[level + 1] = (current & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i];
+                    if (dfs(level + 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // the shared node count and the budget are only touched once every CHECK_INTERVAL nodes of this task
+        private void countNode() {
+            nodesExpanded++;
+            if (++unreported == SearchBudget.CHECK_INTERVAL) {
+                long total = search.nodes.addAndGet(unreported);
+                unreported = 0;
+                if (!search.budget.isUnlimited() && search.budget.exhausted(total)) {
+                    search.aborted = true;
+                }
+            }
+        }
+    }
+
+    private static boolean found(Search search, long[] path, int depth) {
+        long[] solution = new long[depth + 1];
+        System.arraycopy(path, 0, solution, 0, depth + 1);
+        search.solution.compareAndSet(null, solution);
+        return true;
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+}
@@ -0,0 +1,334 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.SearchBudget;
+import base.SolveResult;
+import base.SolverStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Randomized restarts on several workers at once. Every worker runs short depth-first searches from the start,
+ * each with its own random move order biased towards moves that leave few isolated pegs, and restarts with a new
+ * order once a run has used its node allowance. Allowances follow Luby's sequence (1, 1, 2, 1, 1, 2, 4, ...) times
+ * RUN_UNIT, so most runs are short but every length keeps coming back. The first worker to reach the goal wins
+ * and the others stop at their next check.
+ * <p>
+ * A run that ends without using up its allowance has searched the whole tree, so the solver also proves
+ * unreachability eventually; it is meant as an anytime solver under a budget, though, where DFSSolver is too slow.
+ */
+public class PortfolioSolver implements IPegSolitaireSolver {
+
+    // nodes of the shortest run
+    static final long RUN_UNIT = 256;
+    // random part of a move's sort key, spans two isolated pegs so the heuristic orders moves only roughly
+    private static final int NOISE = 32;
+    private static final int ISOLATED_WEIGHT = 16;
+
+    // 33 pegs at most, so at most 32 moves
+    private static final int MAX_PATH_LENGTH = 33;
+
+    // Search.run results
+    private static final int FOUND = 0;
+    private static final int EXHAUSTED = 1;
+    private static final int CUT = 2;
+    private static final int STOPPED = 3;
+
+    // fields with a neighbour to the left or right, so shifted neighbours do not wrap into the next row
+    private static final long HAS_LEFT;
+    private static final long HAS_RIGHT;
+
+    static {
+        long left = 0L;
+        long right = 0L;
+        for (int r = 0; r < Moves.SIZE; r++) {
+            for (int c = 0; c < Moves.SIZE; c++) {
+                if (c > 0) {
+                    left |= 1L << (r * Moves.SIZE + c);
+                }
+                if (c < Moves.SIZE - 1) {
+                    right |= 1L << (r * Moves.SIZE + c);
+                }
+            }
+        }
+        HAS_LEFT = left;
+        HAS_RIGHT = right;
+    }
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    // split once per call, then once per worker
+    private final SplittableRandom seeds;
+    private final SearchContextPool<Worker> contexts = new SearchContextPool<>(Worker::new);
+
+    public PortfolioSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PortfolioSolver(int workers) {
+        this(workers, new SplittableRandom());
+    }
+
+    /**
+     * @param seed makes the move orders of every call repeatable; which worker wins still depends on timing
+     */
+    public PortfolioSolver(int workers, long seed) {
+        this(workers, new SplittableRandom(seed));
+    }
+
+    private PortfolioSolver(int workers, SplittableRandom seeds) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        this.workers = workers;
+        this.seeds = seeds;
+        this.pool = new ForkJoinPool(workers);
+    }
+
+    // per-call state shared by the workers
+    private static final class Search {
+        final long start;
+        final long goal;
+        final int maxDepth;
+        // symmetries of the goal, the only ones the visited sets may fold together
+        final int[] group;
+        final Invariants.Pagoda[] pagodas;
+        final DeadPatterns deadPatterns;
+        final SearchBudget budget;
+        final SolverStats stats;
+        final AtomicReference<long[]> solution = new AtomicReference<>();
+        // nodes reported by the workers so far, in chunks of SearchBudget.CHECK_INTERVAL
+        final AtomicLong nodes = new AtomicLong();
+        volatile boolean unreachable;
+        volatile boolean aborted;
+
+        Search(long start, long goal, SearchBudget budget, SolverStats stats) {
+            this.start = start;
+            this.goal = goal;
+            this.maxDepth = Long.bitCount(start) - Long.bitCount(goal);
+            this.group = Symmetry.stabilizer(goal);
+            this.pagodas = Invariants.goalPagodas(goal, Invariants.MAX_GOAL_PAGODAS);
+            this.deadPatterns = DeadPatterns.forGoal(goal);
+            this.budget = budget;
+            this.stats = stats;
+        }
+
+        boolean hopeless(long board, int movesLeft) {
+            return !Invariants.mayReach(board, goal, pagodas) || deadPatterns.hopeless(board, movesLeft);
+        }
+
+        // a worker won or proved the goal unreachable, or the budget ran out
+        boolean stopped() {
+            return aborted || unreachable || solution.get() != null;
+        }
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        return solve(initialBoard, goalBoard, null);
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard, SolverStats stats) {
+        return solveWithin(initialBoard, goalBoard, SearchBudget.UNLIMITED, stats).getSolution();
+    }
+
+    @Override
+    public SolveResult solveWithin(long initialBoard, long goalBoard, SearchBudget budget, SolverStats stats) {
+        // already cancelled or past the deadline
+        if (budget.exhausted(0)) {
+            return SolveResult.unknown();
+        }
+        // impossible
+        if (Long.bitCount(initialBoard) < Long.bitCount(goalBoard)) {
+            return SolveResult.of(new long[0]);
+        }
+        // already solved
+        if (initialBoard == goalBoard) {
+            return SolveResult.of(new long[] { initialBoard });
+        }
+
+        Search search = new Search(initialBoard, goalBoard, budget, stats);
+        if (search.hopeless(initialBoard, search.maxDepth)) {
+            return SolveResult.of(new long[0]);
+        }
+        SplittableRandom root;
+        synchronized (seeds) {
+            root = seeds.split();
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom random = root.split();
+            tasks.add(() -> {
+                Worker worker = contexts.acquire();
+                try {
+                    worker.run(search, random);
+                } finally {
+                    contexts.release(worker);
+                }
+                return null;
+            });
+        }
+        pool.invokeAll(tasks);
+
+        long[] solution = search.solution.get();
+        if (solution != null) {
+            return SolveResult.of(solution);
+        }
+        return search.unreachable ? SolveResult.of(new long[0]) : SolveResult.unknown();
+    }
+
+    /**
+     * Mutable state of one worker, pooled across calls: the path, the ordered
+     * successors of every level and the visited set of the current run.
+     */
+    private static final class Worker {
+
+        private final long[] path = new long[MAX_PATH_LENGTH];
+        private final long[][] successors = new long[MAX_PATH_LENGTH][Moves.COUNT];
+        private final int[][] keys = new int[MAX_PATH_LENGTH][Moves.COUNT];
+        private final LongHashSet visited = new LongHashSet();
+
+        private Search search;
+        private SplittableRandom random;
+        private long runLeft;
+
+        // counters of this call, handed to the shared SolverStats when it ends
+        private long nodesExpanded;
+        private long visitedHits;
+        private long prunedBranches;
+        private int deepest;
+        // nodes not yet reported to search.nodes
+        private long unreported;
+
+        void run(Search search, SplittableRandom random) {
+            this.search = search;
+            this.random = random;
+            nodesExpanded = visitedHits = prunedBranches = unreported = 0;
+            deepest = 0;
+            path[0] = search.start;
+            for (long runs = 1; !search.stopped(); runs++) {
+                visited.clear();
+                runLeft = RUN_UNIT * luby(runs);
+                int result = dfs(0);
+                if (result == FOUND) {
+                    long[] solution = new long[search.maxDepth + 1];
+                    System.arraycopy(path, 0, solution, 0, solution.length);
+                    search.solution.compareAndSet(null, solution);
+                } else if (result == EXHAUSTED) {
+                    search.unreachable = true;
+                }
+            }
+            if (search.stats != null) {
+                search.stats.add(nodesExpanded, visitedHits, 0, prunedBranches, deepest, visited.size());
+            }
+            this.search = null;
+            this.random = null;
+        }
+
+        private int dfs(int depth) {
+            long board = path[depth];
+            deepest = Math.max(deepest, depth);
+            if (board == search.goal) {
+                return FOUND;
+            }
+            if (depth == search.maxDepth) {
+                return EXHAUSTED;
+            }
+            if (!visited.add(Symmetry.canonical(board, search.group))) {
+                visitedHits++;
+                return EXHAUSTED;
+            }
+            if (search.hopeless(board, search.maxDepth - depth)) {
+                prunedBranches++;
+                return EXHAUSTED;
+            }
+            if (runLeft-- == 0) {
+                return CUT;
+            }
+            if (countNode()) {
+                return STOPPED;
+            }
+
+            int count = order(board, depth);
+            long[] next = successors[depth];
+            for (int i = 0; i < count; i++) {
+                path[depth + 1] = next[i];
+                int result = dfs(depth + 1);
+                if (result != EXHAUSTED) {
+                    return result;
+                }
+            }
+            return EXHAUSTED;
+        }
+
+        // fills successors[depth] with the board's successors, fewest isolated pegs first give or take the noise
+        private int order(long board, int depth) {
+            long[] next = successors[depth];
+            int[] key = keys[depth];
+            int count = 0;
+            for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                for (long movable = Moves.movable(board, d); movable != 0; movable &= movable - 1) {
+                    long successor = Moves.jump(board, movable & -movable, d);
+                    int k = isolated(successor) * ISOLATED_WEIGHT + random.nextInt(NOISE);
+                    // insertion sort, boards have a handful of moves
+                    int i = count++;
+                    while (i > 0 && key[i - 1] > k) {
+                        key[i] = key[i - 1];
+                        next[i] = next[i - 1];
+                        i--;
+                    }
+                    key[i] = k;
+                    next[i] = successor;
+                }
+            }
+            return count;
+        }
+
+        // reports nodes to the shared count every CHECK_INTERVAL nodes, true if the worker has to stop
+        private boolean countNode() {
+            nodesExpanded++;
+            if (++unreported < SearchBudget.CHECK_INTERVAL) {
+                return false;
+            }
+            long total = search.nodes.addAndGet(unreported);
+            unreported = 0;
+            if (!search.budget.isUnlimited() && search.budget.exhausted(total)) {
+                search.aborted = true;
+            }
+            return search.stopped();
+        }
+    }
+
+    // pegs without an orthogonal neighbour, no move can ever take them without another peg coming over
+    static int isolated(long board) {
+        long neighbours = (board << 1 & HAS_LEFT) | (board >>> 1 & HAS_RIGHT) | board << Moves.SIZE | board >>> Moves.SIZE;
+        return Long.bitCount(board & ~neighbours);
+    }
+
+    /**
+     * @param i run number, from 1
+     * @return the i-th term of Luby's sequence: 2^(k-1) if i = 2^k - 1, else the term at i - 2^(k-1) + 1
+     *         for the k with 2^(k-1) <= i < 2^k - 1
+     */
+    static long luby(long i) {
+        while (true) {
+            int k = 64 - Long.numberOfLeadingZeros(i);
+            if (i == (1L << k) - 1) {
+                return 1L << (k - 1);
+            }
+            i -= (1L << (k - 1)) - 1;
+        }
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+}
@@ -0,0 +1,85 @@
+package solver;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a file written by ReachabilityDatabaseBuilder, memory-mapped so lookups never copy it onto the heap.
+ * Lookups only use absolute reads, so one instance can be shared between threads.
+ *
+ * File layout, all values big-endian longs:
+ * magic, start board, goal board, 34 level sizes (boards with 0..33 pegs), then every level's canonical boards sorted ascending.
+ */
+final class ReachabilityDatabase {
+
+    static final long MAGIC = 0x5045475245414348L; // "PEGREACH"
+    static final int LEVELS = 34;
+    static final int HEADER_LONGS = 3 + LEVELS;
+
+    private final long start;
+    private final long goal;
+    private final LongBuffer boards;
+    private final int[] levelOffset = new int[LEVELS + 1];
+
+    private ReachabilityDatabase(LongBuffer data) {
+        if (data.get(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a reachability database");
+        }
+        start = data.get(1);
+        goal = data.get(2);
+        for (int pegs = 0; pegs < LEVELS; pegs++) {
+            levelOffset[pegs + 1] = levelOffset[pegs] + (int) data.get(3 + pegs);
+        }
+        boards = data.position(HEADER_LONGS).slice();
+        if (boards.limit() != levelOffset[LEVELS]) {
+            throw new IllegalArgumentException("Truncated reachability database");
+        }
+    }
+
+    static ReachabilityDatabase open(Path file) throws IOException {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Reachability database larger than 2 GB: " + file);
+            }
+            return new ReachabilityDatabase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asLongBuffer());
+        }
+    }
+
+    long start() {
+        return start;
+    }
+
+    long goal() {
+        return goal;
+    }
+
+    int size() {
+        return levelOffset[LEVELS];
+    }
+
+    /**
+     * @return true if the board (or one of its symmetric images) lies on a path from the start to the goal
+     */
+    boolean contains(long board) {
+        long canonical = Symmetry.canonical(board);
+        int pegs = Long.bitCount(board);
+        int low = levelOffset[pegs];
+        int high = levelOffset[pegs + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = boards.get(mid);
+            if (value < canonical) {
+                low = mid + 1;
+            } else if (value > canonical) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,116 @@
+package solver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Offline builder for ReachabilityDatabase. Enumerates every canonical board reachable from the start,
+ * level by level by peg count, then walks back from the goal through those boards only;
+ * what remains is exactly the set of boards that lie on some path from the start to the goal.
+ *
+ * Usage: ReachabilityDatabaseBuilder output-file [start-board goal-board]
+ * (default: the standard English game, full board to a single peg in the centre).
+ */
+public final class ReachabilityDatabaseBuilder {
+
+    static final long STANDARD_START = 124141717933596L;
+    static final long STANDARD_GOAL = 1L << 24;
+
+    private ReachabilityDatabaseBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && args.length != 3) {
+            System.out.println("Usage: ReachabilityDatabaseBuilder output-file [start-board goal-board]");
+            return;
+        }
+        long start = args.length == 3 ? Long.parseLong(args[1]) : STANDARD_START;
+        long goal = args.length == 3 ? Long.parseLong(args[2]) : STANDARD_GOAL;
+
+        long time = System.nanoTime();
+        long[][] levels = build(start, goal);
+        write(Path.of(args[0]), start, goal, levels);
+
+        long total = Arrays.stream(levels).mapToLong(level -> level.length).sum();
+        System.out.printf("%d boards written to %s in %d ms%n", total, args[0], (System.nanoTime() - time) / 1_000_000);
+    }
+
+    /**
+     * @return canonical boards on a start-to-goal path, indexed by peg count and sorted ascending
+     */
+    static long[][] build(long start, long goal) {
+        // a board only stands for its whole symmetry class if the goal looks the same in every orientation
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            if (Symmetry.transform(goal, t) != goal) {
+                throw new IllegalArgumentException("Goal board must be symmetric under all 8 board symmetries");
+            }
+        }
+        int startPegs = Long.bitCount(start);
+        int goalPegs = Long.bitCount(goal);
+
+        long[][] forward = new long[ReachabilityDatabase.LEVELS][];
+        forward[startPegs] = new long[] { Symmetry.canonical(start) };
+        for (int pegs = startPegs; pegs > goalPegs; pegs--) {
+            LongHashSet next = new LongHashSet();
+            for (long board : forward[pegs]) {
+                for (int i = 0; i < Moves.COUNT; i++) {
+                    if ((board & Moves.FROM[i]) != 0 && (board & Moves.JUMPED[i]) != 0 && (board & Moves.TO[i]) == 0) {
+                        next.add(Symmetry.canonical((board & ~(Moves.FROM[i] | Moves.JUMPED[i])) | Moves.TO[i]));
+                    }
+                }
+            }
+            forward[pegs - 1] = sorted(next);
+        }
+
+        long[][] levels = new long[ReachabilityDatabase.LEVELS][0];
+        if (goalPegs > startPegs || Arrays.binarySearch(forward[goalPegs], goal) < 0) {
+            return levels;
+        }
+        levels[goalPegs] = new long[] { goal };
+        for (int pegs = goalPegs; pegs < startPegs; pegs++) {
+            LongHashSet previous = new LongHashSet();
+            for (long board : levels[pegs]) {
+                for (int i = 0; i < Moves.COUNT; i++) {
+                    // reverse move: peg on 'to', holes on 'from' and 'jumped'
+                    if ((board & Moves.TO[i]) != 0 && (board & (Moves.FROM[i] | Moves.JUMPED[i])) == 0) {
+                        long canonical = Symmetry.canonical((board & ~Moves.TO[i]) | Moves.FROM[i] | Moves.JUMPED[i]);
+                        if (Arrays.binarySearch(forward[pegs + 1], canonical) >= 0) {
+                            previous.add(canonical);
+                        }
+                    }
+                }
+            }
+            levels[pegs + 1] = sorted(previous);
+            forward[pegs] = null;
+        }
+        return levels;
+    }
+
+    static void write(Path file, long start, long goal, long[][] levels) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeLong(ReachabilityDatabase.MAGIC);
+            out.writeLong(start);
+            out.writeLong(goal);
+            for (long[] level : levels) {
+                out.writeLong(level.length);
+            }
+            for (long[] level : levels) {
+                for (long board : level) {
+                    out.writeLong(board);
+                }
+            }
+        }
+    }
+
+    private static long[] sorted(LongHashSet set) {
+        long[] result = set.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+}
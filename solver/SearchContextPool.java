@@ -0,0 +1,42 @@
+package solver;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of mutable search contexts (visited tables, stacks, counters) shared by all threads, so a solver instance can
+ * be shared between threads and still reuse its warm buffers, also when every call runs on a new thread.
+ * A solve that runs inside another solve takes a second context instead of clobbering the first one.
+ * Keeps at most one idle context per processor; contexts released beyond that are dropped.
+ */
+final class SearchContextPool<T> {
+
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
+
+    // most recently released first, its buffers are the likeliest to be warm
+    private final ConcurrentLinkedDeque<T> free = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final Supplier<T> factory;
+
+    SearchContextPool(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    T acquire() {
+        T context = free.pollFirst();
+        if (context == null) {
+            return factory.get();
+        }
+        idle.decrementAndGet();
+        return context;
+    }
+
+    void release(T context) {
+        if (idle.incrementAndGet() <= MAX_IDLE) {
+            free.addFirst(context);
+        } else {
+            idle.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package solver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Counts move sequences instead of finding one. Works level by level by peg count over canonical boards,
+ * keeping only the level being read and the one being built, so every earlier level is freed (or spilled) as it is done.
+ * <p>
+ * A level maps each canonical board to the number of move sequences from the start that end anywhere in its
+ * symmetry class. Moves commute with the symmetries, so these class totals carry over from level to level
+ * without caring how symmetric each board is. Only symmetries of the start are used, so every board of a class
+ * is reached equally often and a single board's count is its class total divided by the class size.
+ * <p>
+ * Spilled levels are big-endian longs: magic, peg count, board count, the boards ascending, then their counts.
+ * One instance runs one query at a time.
+ *
+ * Usage: SolutionCounter [--spill folder] [start-board goal-board]
+ * (default: the standard English game, full board to a single peg in the centre).
+ */
+public final class SolutionCounter {
+
+    static final long MAGIC = 0x5045474C4556454CL; // "PEGLEVEL"
+
+    // canonical boards of one level, ascending, and the move sequences into each of their classes
+    private record Level(int pegs, long[] boards, long[] paths) {
+    }
+
+    private final Path spillFolder;
+    private final long[] levelSizes = new long[ReachabilityDatabase.LEVELS];
+
+    public SolutionCounter() {
+        this(null);
+    }
+
+    /**
+     * @param spillFolder folder every finished level is written to as level-NN.bin, null keeps them in memory only
+     */
+    public SolutionCounter(Path spillFolder) {
+        this.spillFolder = spillFolder;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path spill = null;
+        int first = 0;
+        if (args.length >= 2 && args[0].equals("--spill")) {
+            spill = Path.of(args[1]);
+            Files.createDirectories(spill);
+            first = 2;
+        }
+        if (args.length - first != 0 && args.length - first != 2) {
+            System.out.println("Usage: SolutionCounter [--spill folder] [start-board goal-board]");
+            return;
+        }
+        long start = args.length - first == 2 ? Long.parseLong(args[first]) : ReachabilityDatabaseBuilder.STANDARD_START;
+        long goal = args.length - first == 2 ? Long.parseLong(args[first + 1]) : ReachabilityDatabaseBuilder.STANDARD_GOAL;
+
+        long time = System.nanoTime();
+        SolutionCounter counter = new SolutionCounter(spill);
+        long solutions = counter.countSolutions(start, goal);
+        for (int pegs = Long.bitCount(start); pegs >= Long.bitCount(goal); pegs--) {
+            System.out.printf("%2d pegs: %d boards%n", pegs, counter.levelSizes[pegs]);
+        }
+        System.out.printf("%d move sequences from %d to %d, %d ms%n", solutions, start, goal, (System.nanoTime() - time) / 1_000_000);
+    }
+
+    /**
+     * @return number of distinct move sequences from start to goal
+     * @throws ArithmeticException if an intermediate count overflows a long
+     */
+    public long countSolutions(long start, long goal) {
+        int goalPegs = Long.bitCount(goal);
+        if (goalPegs > Long.bitCount(start)) {
+            return 0;
+        }
+        int[] group = Symmetry.stabilizer(start);
+        Level last = run(start, goalPegs, goal, group);
+        int index = Arrays.binarySearch(last.boards(), Symmetry.canonical(goal, group));
+        return index < 0 ? 0 : last.paths()[index] / images(goal, group).length;
+    }
+
+    /**
+     * @return boards with that many pegs reachable from start, each class once by its minimal image
+     *         under the start's symmetries, ascending
+     */
+    public long[] reachable(long start, int pegs) {
+        if (pegs > Long.bitCount(start) || pegs < 1) {
+            return new long[0];
+        }
+        return run(start, pegs, 0L, Symmetry.stabilizer(start)).boards();
+    }
+
+    /**
+     * @return canonical boards per peg count found by the last query, 0 for levels it did not reach
+     */
+    long[] levelSizes() {
+        return levelSizes.clone();
+    }
+
+    // goal 0: no goal, every reachable board is kept
+    private Level run(long start, int lastPegs, long goal, int[] group) {
+        Arrays.fill(levelSizes, 0);
+        GoalFilter filter = goal != 0 ? new GoalFilter(goal, group) : null;
+        Level level = new Level(Long.bitCount(start), new long[] { Symmetry.canonical(start, group) }, new long[] { 1 });
+        if (filter != null && !filter.mayReach(level.boards()[0])) {
+            return new Level(lastPegs, new long[0], new long[0]);
+        }
+        levelSizes[level.pegs()] = 1;
+        spill(level);
+        while (level.pegs() > lastPegs) {
+            // each level holds roughly a few times the boards of the last one in the opening, fewer later
+            LongLongHashMap next = new LongLongHashMap(level.boards().length * 4);
+            long[] boards = level.boards();
+            long[] paths = level.paths();
+            for (int i = 0; i < boards.length; i++) {
+                long board = boards[i];
+                for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                    for (long movable = Moves.movable(board, d); movable != 0; movable &= movable - 1) {
+                        long canonical = Symmetry.canonical(Moves.jump(board, movable & -movable, d), group);
+                        if (filter == null || filter.mayReach(canonical)) {
+                            next.addTo(canonical, paths[i]);
+                        }
+                    }
+                }
+            }
+            long[] nextBoards = next.sortedKeys();
+            long[] nextPaths = new long[nextBoards.length];
+            for (int i = 0; i < nextBoards.length; i++) {
+                nextPaths[i] = next.get(nextBoards[i]);
+            }
+            level = new Level(level.pegs() - 1, nextBoards, nextPaths);
+            levelSizes[level.pegs()] = nextBoards.length;
+            spill(level);
+        }
+        return level;
+    }
+
+    private void spill(Level level) {
+        if (spillFolder == null) {
+            return;
+        }
+        Path file = spillFolder.resolve(String.format("level-%02d.bin", level.pegs()));
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeLong(MAGIC);
+            out.writeLong(level.pegs());
+            out.writeLong(level.boards().length);
+            for (long board : level.boards()) {
+                out.writeLong(board);
+            }
+            for (long paths : level.paths()) {
+                out.writeLong(paths);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot spill level " + level.pegs() + " to " + file, e);
+        }
+    }
+
+    // distinct images of the board under the group
+    private static long[] images(long board, int[] group) {
+        return Arrays.stream(group).mapToLong(t -> Symmetry.transform(board, t)).distinct().toArray();
+    }
+
+    /**
+     * Drops a class only when none of its boards can reach the goal, i.e. when its minimal image
+     * cannot reach any image of the goal under the same symmetries.
+     */
+    private static final class GoalFilter {
+
+        private final long[] goals;
+        private final int goalPegs;
+        private final Invariants.Pagoda[][] pagodas;
+        private final DeadPatterns[] deadPatterns;
+
+        GoalFilter(long goal, int[] group) {
+            goals = images(goal, group);
+            goalPegs = Long.bitCount(goal);
+            pagodas = new Invariants.Pagoda[goals.length][];
+            deadPatterns = new DeadPatterns[goals.length];
+            for (int i = 0; i < goals.length; i++) {
+                pagodas[i] = Invariants.goalPagodas(goals[i], Invariants.MAX_GOAL_PAGODAS);
+                deadPatterns[i] = DeadPatterns.forGoal(goals[i]);
+            }
+        }
+
+        boolean mayReach(long board) {
+            for (int i = 0; i < goals.length; i++) {
+                if (Invariants.mayReach(board, goals[i], pagodas[i])
+                        && !deadPatterns[i].hopeless(board, Long.bitCount(board) - goalPegs)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * The 8 symmetries of the 7x7 board, applied through per-row lookup tables.
+ * Every transform maps each of the 7 rows (128 bit patterns) to a fixed bit set,
+ * so a whole board is transformed with 7 table lookups OR-ed together.
+ */
+final class Symmetry {
+
+    private static final int SIZE = 7;
+    private static final int ROW_MASK = (1 << SIZE) - 1;
+
+    static final int IDENTITY = 0;
+    static final int ROTATE90 = 1;
+    static final int ROTATE180 = 2;
+    static final int ROTATE270 = 3;
+    static final int FLIP_H = 4;
+    static final int FLIP_V = 5;
+    static final int FLIP_D = 6;
+    static final int FLIP_D2 = 7;
+    static final int COUNT = 8;
+
+    // TABLES[t][row << 7 | pattern] = image of that row pattern under transform t
+    private static final long[][] TABLES = new long[COUNT][SIZE << SIZE];
+
+    static {
+        for (int t = 0; t < COUNT; t++) {
+            for (int r = 0; r < SIZE; r++) {
+                for (int pattern = 0; pattern <= ROW_MASK; pattern++) {
+                    long image = 0L;
+                    for (int c = 0; c < SIZE; c++) {
+                        if ((pattern & (1 << c)) != 0) {
+                            image |= 1L << index(t, r, c);
+                        }
+                    }
+                    TABLES[t][r << SIZE | pattern] = image;
+                }
+            }
+        }
+    }
+
+    private static int index(int transform, int r, int c) {
+        int last = SIZE - 1;
+        return switch (transform) {
+            case ROTATE90 -> c * SIZE + (last - r);
+            case ROTATE180 -> (last - r) * SIZE + (last - c);
+            case ROTATE270 -> (last - c) * SIZE + r;
+            case FLIP_H -> r * SIZE + (last - c);
+            case FLIP_V -> (last - r) * SIZE + c;
+            case FLIP_D -> c * SIZE + r;
+            case FLIP_D2 -> (last - c) * SIZE + (last - r);
+            default -> r * SIZE + c;
+        };
+    }
+
+    private Symmetry() {
+    }
+
+    static long transform(long board, int transform) {
+        long[] table = TABLES[transform];
+        long result = 0L;
+        for (int r = 0; r < SIZE; r++) {
+            result |= table[r << SIZE | (int) (board >>> (r * SIZE)) & ROW_MASK];
+        }
+        return result;
+    }
+
+    // Return minimal bitboard over all 8 symmetries (to avoid duplicates)
+    static long canonical(long board) {
+        long[] r90 = TABLES[ROTATE90];
+        long[] r180 = TABLES[ROTATE180];
+        long[] r270 = TABLES[ROTATE270];
+        long[] fH = TABLES[FLIP_H];
+        long[] fV = TABLES[FLIP_V];
+        long[] fD = TABLES[FLIP_D];
+        long[] fD2 = TABLES[FLIP_D2];
+        long b90 = 0, b180 = 0, b270 = 0, bH = 0, bV = 0, bD = 0, bD2 = 0;
+        for (int r = 0; r < SIZE; r++) {
+            int i = r << SIZE | (int) (board >>> (r * SIZE)) & ROW_MASK;
+            b90 |= r90[i];
+            b180 |= r180[i];
+            b270 |= r270[i];
+            bH |= fH[i];
+            bV |= fV[i];
+            bD |= fD[i];
+            bD2 |= fD2[i];
+        }
+        long best = Math.min(board, b90);
+        best = Math.min(best, b180);
+        best = Math.min(best, b270);
+        best = Math.min(best, bH);
+        best = Math.min(best, bV);
+        best = Math.min(best, bD);
+        return Math.min(best, bD2);
+    }
+
+    /**
+     * @return the transforms that leave the board unchanged, identity first; always a subgroup of the 8
+     */
+    static int[] stabilizer(long board) {
+        int[] transforms = new int[COUNT];
+        int count = 0;
+        for (int t = 0; t < COUNT; t++) {
+            if (transform(board, t) == board) {
+                transforms[count++] = t;
+            }
+        }
+        return Arrays.copyOf(transforms, count);
+    }
+
+    // minimal bitboard over a subgroup of the symmetries, the 8-way table walk above when it is all of them
+    static long canonical(long board, int[] group) {
+        if (group.length == COUNT) {
+            return canonical(board);
+        }
+        long best = board;
+        for (int t : group) {
+            if (t != IDENTITY) {
+                best = Math.min(best, transform(board, t));
+            }
+        }
+        return best;
+    }
+
+    // the transform that undoes the given one, only the quarter turns are not their own inverse
+    static int inverse(int transform) {
+        return switch (transform) {
+            case ROTATE90 -> ROTATE270;
+            case ROTATE270 -> ROTATE90;
+            default -> transform;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package solver;
+
+/**
+ * Boards a search has already expanded, see LongHashSet and BitsetVisitedSet.
+ */
+interface VisitedSet {
+
+    /**
+     * @return false if the board was already present
+     */
+    boolean add(long board);
+
+    boolean contains(long board);
+
+    int size();
+
+    void clear();
+}
@@ -0,0 +1,130 @@
+package solver;
+
+import base.BoardGeometry;
+import base.IPegSolitaireSolver;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * DFSSolver for boards that do not fit in a long: boards are BoardGeometry's multi-word long[] bitboards,
+ * moves are applied in place and undone on the way back, visited boards are stored by their canonical image
+ * under the goal's symmetries.
+ * Works for any geometry, but the single-long DFSSolver is much faster where it applies.
+ * As an IPegSolitaireSolver it takes single-long boards, so only geometries that fit in a long; the default is ENGLISH.
+ */
+public class WideDFSSolver implements IPegSolitaireSolver {
+
+    private final BoardGeometry geometry;
+
+    public WideDFSSolver() {
+        this(BoardGeometry.ENGLISH);
+    }
+
+    public WideDFSSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+    }
+
+    @Override
+    public long[] solve(long initialBoard, long goalBoard) {
+        if (!geometry.fitsInLong()) {
+            throw new IllegalStateException(geometry + " does not fit in a long, use solve(long[], long[])");
+        }
+        long[][] solution = solve(new long[] { initialBoard }, new long[] { goalBoard });
+        long[] boards = new long[solution.length];
+        for (int i = 0; i < solution.length; i++) {
+            boards[i] = solution[i][0];
+        }
+        return boards;
+    }
+
+    /**
+     * @param initialBoard initial state of the board, geometry.words() longs
+     * @param goalBoard final state of the board, geometry.words() longs
+     * @return board states after each move, empty if the goal cannot be reached
+     */
+    public long[][] solve(long[] initialBoard, long[] goalBoard) {
+        if (initialBoard.length != geometry.words() || goalBoard.length != geometry.words()) {
+            throw new IllegalArgumentException("Expected boards of " + geometry.words() + " longs for " + geometry);
+        }
+        int maxDepth = BoardGeometry.pegCount(initialBoard) - BoardGeometry.pegCount(goalBoard);
+
+        // impossible
+        if (maxDepth < 0 || !geometry.isValid(initialBoard) || !geometry.isValid(goalBoard)) {
+            return new long[0][];
+        }
+        Search search = new Search(goalBoard, maxDepth);
+        long[] board = initialBoard.clone();
+        search.path[0] = initialBoard.clone();
+        return search.dfs(board, 0) ? search.path : new long[0][];
+    }
+
+    // per-call state, so one instance can serve concurrent solve calls
+    private final class Search {
+        private final long[] goal;
+        // symmetries of the goal, the only ones the visited set may fold together
+        private final int[] group;
+        private final int maxDepth;
+        private final long[][] path;
+        private final Set<Key> visited = new HashSet<>();
+
+        Search(long[] goal, int maxDepth) {
+            this.goal = goal;
+            this.group = geometry.stabilizer(goal);
+            this.maxDepth = maxDepth;
+            this.path = new long[maxDepth + 1][];
+        }
+
+        private boolean dfs(long[] board, int depth) {
+            if (depth == maxDepth) {
+                return Arrays.equals(board, goal);
+            }
+            // Symmetry prune
+            if (!visited.add(new Key(geometry.canonical(board, group)))) {
+                return false;
+            }
+            for (int i = 0; i < geometry.moveCount(); i++) {
+                if (geometry.canJump(board, i)) {
+                    geometry.jump(board, i);
+                    boolean found = dfs(board, depth + 1);
+                    // boards are only copied out along the winning branch
+                    if (found) {
+                        path[depth + 1] = board.clone();
+                    }
+                    geometry.jump(board, i);
+                    if (found) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public String[] personalData() {
+        return new String[] {"Rudi", "Arcon"};
+    }
+
+    // long[] with value equality, for the visited set
+    private static final class Key {
+        private final long[] words;
+        private final int hash;
+
+        Key(long[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
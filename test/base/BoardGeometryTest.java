@@ -0,0 +1,50 @@
+package base;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardGeometryTest {
+
+    @Test
+    void symmetriesFollowTheCellSet() {
+        assertEquals(8, BoardGeometry.ENGLISH.symmetryCount());
+        assertEquals(8, BoardGeometry.EUROPEAN.symmetryCount());
+        assertEquals(4, BoardGeometry.of(BoardGeometry.Adjacency.ORTHOGONAL, "oooo", "oooo", "oooo").symmetryCount());
+        for (int rows = 3; rows <= 8; rows++) {
+            assertEquals(6, BoardGeometry.triangular(rows).symmetryCount());
+        }
+    }
+
+    // every symmetry maps holes and moves onto themselves and is undone by its inverse
+    @Test
+    void triangularSymmetriesAreBoardSymmetries() {
+        BoardGeometry triangle = BoardGeometry.triangular(5);
+        for (int t = 0; t < triangle.symmetryCount(); t++) {
+            assertEquals(triangle.holeMask(), triangle.transform(triangle.holeMask(), t));
+            for (int i = 0; i < triangle.moveCount(); i++) {
+                long before = triangle.fromMask(i) | triangle.jumpedMask(i);
+                long after = triangle.jump(before, i);
+                assertTrue(triangle.isMove(triangle.transform(before, t), triangle.transform(after, t)));
+                assertEquals(before, triangle.transform(triangle.transform(before, t), triangle.inverse(t)));
+            }
+        }
+        // the apex and the two other corners form one orbit
+        long apex = 1L;
+        long corners = 1L | 1L << 20 | 1L << 24;
+        for (int t = 0; t < triangle.symmetryCount(); t++) {
+            assertEquals(triangle.transform(apex, t), triangle.transform(apex, t) & corners);
+        }
+        assertEquals(2, triangle.stabilizer(apex).length);
+    }
+
+    @Test
+    void singleLongMethodsRejectWideBoards() {
+        BoardGeometry wide = BoardGeometry.of(BoardGeometry.Adjacency.ORTHOGONAL, "o".repeat(9), "o".repeat(9), "o".repeat(9),
+                "o".repeat(9), "o".repeat(9), "o".repeat(9), "o".repeat(9), "o".repeat(9));
+        assertThrows(IllegalStateException.class, () -> wide.canJump(0L, 0));
+        assertThrows(IllegalStateException.class, () -> wide.jump(0L, 0));
+    }
+}
@@ -0,0 +1,67 @@
+package solver;
+
+import base.IPegSolitaireSolver;
+import base.PegSolitaireValidation;
+import base.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// one shared instance, many threads, every result validated: catches solvers that keep per-call state in fields
+class DFSSolverConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REPEAT = 4;
+
+    private static void solveConcurrently(IPegSolitaireSolver solver) throws Exception {
+        List<TestData> tests = PegSolitaireValidation.readTests("tests/public");
+        assertFalse(tests.isEmpty());
+        List<TestData> cases = new ArrayList<>();
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < REPEAT; i++) {
+            cases.addAll(tests);
+        }
+        // interleave different tests so concurrent calls work on different goals
+        Collections.shuffle(cases, new Random(13));
+        for (TestData test : cases) {
+            tasks.add(() -> solver.solve(test.getStart(), test.getGoal()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < cases.size(); i++) {
+                TestData test = cases.get(i);
+                assertTrue(PegSolitaireValidation.validateSolution(results.get(i).get(), test.getStart(), test.getGoal(),
+                        test.isReachable(), false, 0), "test " + test.getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sharedDFSSolver() throws Exception {
+        solveConcurrently(new DFSSolver());
+    }
+
+    @Test
+    void sharedIterativeSolver() throws Exception {
+        solveConcurrently(new IterativeSolver());
+    }
+
+    @Test
+    void sharedBestFirstSolver() throws Exception {
+        solveConcurrently(new BestFirstSolver());
+    }
+}
@@ -0,0 +1,48 @@
+package solver;
+
+import base.BoardGeometry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DFSSolverTest {
+
+    private static final BoardGeometry SQUARE_8 = BoardGeometry.of(BoardGeometry.Adjacency.ORTHOGONAL,
+            "oooooooo",
+            "oooooooo",
+            "oooooooo",
+            "oooooooo",
+            "oooooooo",
+            "oooooooo",
+            "oooooooo",
+            "oooooooo");
+
+    // a game longer than the 32 moves of the English board, so the pooled search has to grow its path
+    @Test
+    void solvesGameLongerThanEnglishPath() {
+        long start = SQUARE_8.holeMask() & ~1L;
+        // always taking the first move in table order is the branch the search tries first
+        long goal = start;
+        int moves = 0;
+        for (int i = 0; i < SQUARE_8.moveCount(); i++) {
+            if (SQUARE_8.canJump(goal, i)) {
+                goal = SQUARE_8.jump(goal, i);
+                moves++;
+                i = -1;
+            }
+        }
+        assertTrue(moves > 32, "walk too short: " + moves);
+
+        DFSSolver solver = new DFSSolver(SQUARE_8);
+        for (int call = 0; call < 2; call++) {
+            long[] solution = solver.solve(start, goal);
+            assertEquals(moves + 1, solution.length);
+            assertEquals(start, solution[0]);
+            assertEquals(goal, solution[moves]);
+            for (int i = 0; i < moves; i++) {
+                assertTrue(SQUARE_8.isMove(solution[i], solution[i + 1]), "step " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package solver;
+
+import base.PegSolitaireValidation;
+import base.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvariantsTest {
+
+    private static boolean mayReach(long start, long goal) {
+        return Invariants.mayReach(start, goal, Invariants.goalPagodas(goal, Invariants.MAX_GOAL_PAGODAS));
+    }
+
+    @Test
+    void neverRejectsReachablePublicTests() {
+        List<TestData> tests = PegSolitaireValidation.readTests("tests/public");
+        assertFalse(tests.isEmpty());
+        for (TestData test : tests) {
+            if (test.isReachable()) {
+                assertTrue(mayReach(test.getStart(), test.getGoal()), "test " + test.getId());
+            }
+        }
+    }
+
+    // every board on a random game reaches every later board of the same game
+    @Test
+    void neverRejectsPairsOnRandomGames() {
+        SplittableRandom random = new SplittableRandom(6);
+        long[] game = new long[32];
+        long[] successors = new long[Moves.COUNT];
+        for (int g = 0; g < 2000; g++) {
+            game[0] = ReachabilityDatabaseBuilder.STANDARD_START;
+            int length = 1;
+            while (true) {
+                int count = 0;
+                for (int d = 0; d < Moves.DIRECTIONS; d++) {
+                    for (long movable = Moves.movable(game[length - 1], d); movable != 0; movable &= movable - 1) {
+                        successors[count++] = Moves.jump(game[length - 1], movable & -movable, d);
+                    }
+                }
+                if (count == 0) {
+                    break;
+                }
+                game[length++] = successors[random.nextInt(count)];
+            }
+            for (int i = 0; i < length; i++) {
+                for (int j = i; j < length; j++) {
+                    assertTrue(mayReach(game[i], game[j]), game[i] + " -> " + game[j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsGoalWithPegOnInvalidField() {
+        long start = ReachabilityDatabaseBuilder.STANDARD_START;
+        long goal = 1L << 24 | 1L;
+        assertDoesNotThrow(() -> Invariants.goalPagodas(goal, Invariants.MAX_GOAL_PAGODAS));
+        assertFalse(mayReach(start, goal));
+        assertFalse(mayReach(start, 1L << 24 | 1L << 60));
+        assertEquals(0, new DFSSolver().solve(start, goal).length);
+    }
+}
@@ -0,0 +1,32 @@
+package solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongHashSetTest {
+
+    // alternating large and small fills, so clear both keeps and shrinks the table
+    @Test
+    void matchesHashSetAcrossClears() {
+        SplittableRandom random = new SplittableRandom(1);
+        LongHashSet set = new LongHashSet();
+        for (int fill : new int[] {100_000, 10, 0, 50_000, 40_000, 3, 1 << 16}) {
+            set.clear();
+            Set<Long> reference = new HashSet<>();
+            for (int i = 0; i < fill; i++) {
+                // a small key range, so some keys repeat; 0 included
+                long key = random.nextLong(fill * 2L + 1);
+                assertEquals(reference.add(key), set.add(key));
+            }
+            assertEquals(reference.size(), set.size());
+            for (long key = 0; key <= fill * 2L; key++) {
+                assertEquals(reference.contains(key), set.contains(key));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Symmetry against the bit-by-bit transforms it replaced (DFSSolver.transformBoard and getCanonicalSymmetry).
+ */
+class SymmetryTest {
+
+    private static final int SIZE = 7;
+
+    // INDEX[t][i] = field that field i moves to under transform t, written out as in the old DFSSolver
+    private static final int[][] INDEX = new int[Symmetry.COUNT][SIZE * SIZE];
+
+    static {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                int i = r * SIZE + c;
+                INDEX[Symmetry.IDENTITY][i] = i;
+                INDEX[Symmetry.ROTATE90][i] = c * SIZE + (SIZE - 1 - r);
+                INDEX[Symmetry.ROTATE180][i] = (SIZE - 1 - r) * SIZE + (SIZE - 1 - c);
+                INDEX[Symmetry.ROTATE270][i] = (SIZE - 1 - c) * SIZE + r;
+                INDEX[Symmetry.FLIP_H][i] = r * SIZE + (SIZE - 1 - c);
+                INDEX[Symmetry.FLIP_V][i] = (SIZE - 1 - r) * SIZE + c;
+                INDEX[Symmetry.FLIP_D][i] = c * SIZE + r;
+                INDEX[Symmetry.FLIP_D2][i] = (SIZE - 1 - c) * SIZE + (SIZE - 1 - r);
+            }
+        }
+    }
+
+    private static long referenceTransform(long board, int transform) {
+        long result = 0L;
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            if ((board & (1L << i)) != 0) {
+                result |= 1L << INDEX[transform][i];
+            }
+        }
+        return result;
+    }
+
+    private static long referenceCanonical(long board) {
+        long best = board;
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            best = Math.min(best, referenceTransform(board, t));
+        }
+        return best;
+    }
+
+    // both sides map every peg on its own, so agreeing on every pattern of every row means agreeing on every board
+    @Test
+    void transformMatchesOnEveryRowPattern() {
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            for (int r = 0; r < SIZE; r++) {
+                for (long pattern = 0; pattern < 1 << SIZE; pattern++) {
+                    long board = pattern << (r * SIZE);
+                    assertEquals(referenceTransform(board, t), Symmetry.transform(board, t), "transform " + t + " board " + board);
+                }
+            }
+        }
+    }
+
+    @Test
+    void canonicalMatchesAcrossTheEnglishBoards() {
+        // about 4 million of the 2^33 English boards, evenly spread
+        long stride = (BoardIndex.SIZE >>> 22) + 1;
+        for (long index = 0; index < BoardIndex.SIZE; index += stride) {
+            long board = BoardIndex.expand(index);
+            assertEquals(referenceCanonical(board), Symmetry.canonical(board), "board " + board);
+        }
+    }
+
+    @Test
+    void canonicalOverFullGroupMatchesCanonical() {
+        int[] all = Symmetry.stabilizer(0L);
+        long stride = (BoardIndex.SIZE >>> 12) + 1;
+        for (long index = 0; index < BoardIndex.SIZE; index += stride) {
+            long board = BoardIndex.expand(index);
+            assertEquals(referenceCanonical(board), Symmetry.canonical(board, all), "board " + board);
+        }
+    }
+}
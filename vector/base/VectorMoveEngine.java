@@ -0,0 +1,92 @@
+package base;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * ScalarMoveEngine with the move masks as LongVectors: one compare per lane tests as many moves as the preferred
+ * species holds (4 with AVX2, 8 with AVX-512). The mask arrays are padded to whole vectors with moves that never apply.
+ * Loaded by MoveEngine.vector through reflection, so the rest of the tree builds without jdk.incubator.vector.
+ */
+final class VectorMoveEngine implements MoveEngine {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private final int count;
+    private final long[] from;
+    private final long[] jumped;
+    private final long[] to;
+    private final long[] changed;
+    private final long[] emptied;
+    // lanes of the last vector that hold real moves
+    private final VectorMask<Long> lastLanes;
+
+    VectorMoveEngine(BoardGeometry geometry) {
+        count = geometry.moveCount();
+        int padded = SPECIES.loopBound(count + SPECIES.length() - 1);
+        from = new long[padded];
+        jumped = new long[padded];
+        to = new long[padded];
+        changed = new long[padded];
+        emptied = new long[padded];
+        for (int i = 0; i < count; i++) {
+            from[i] = geometry.fromMask(i);
+            jumped[i] = geometry.jumpedMask(i);
+            to[i] = geometry.toMask(i);
+            changed[i] = from[i] | jumped[i] | to[i];
+            emptied[i] = from[i] | jumped[i];
+        }
+        lastLanes = SPECIES.indexInRange(padded - SPECIES.length(), count);
+    }
+
+    // padding lanes have no 'from' field, so they never pass the first test
+    @Override
+    public int successors(long board, long[] out) {
+        LongVector pegs = LongVector.broadcast(SPECIES, board);
+        int n = 0;
+        for (int i = 0; i < from.length; i += SPECIES.length()) {
+            VectorMask<Long> legal = pegs.and(LongVector.fromArray(SPECIES, from, i)).compare(VectorOperators.NE, 0)
+                    .and(pegs.and(LongVector.fromArray(SPECIES, jumped, i)).compare(VectorOperators.NE, 0))
+                    .and(pegs.and(LongVector.fromArray(SPECIES, to, i)).compare(VectorOperators.EQ, 0));
+            // no lane compress on Java 17, the few legal lanes are written out one by one
+            for (long lanes = legal.toLong(); lanes != 0; lanes &= lanes - 1) {
+                out[n++] = board ^ changed[i + Long.numberOfTrailingZeros(lanes)];
+            }
+        }
+        return n;
+    }
+
+    // the moves are the lanes, each step is compared against a vector of them and stops at the first vector with a match
+    @Override
+    public int firstInvalidStep(long[] solution) {
+        for (int s = 0; s + 1 < solution.length; s++) {
+            long diff = solution[s] ^ solution[s + 1];
+            if (!isMove(LongVector.broadcast(SPECIES, diff), LongVector.broadcast(SPECIES, solution[s] & diff))) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isMove(LongVector diff, LongVector pegs) {
+        int last = from.length - SPECIES.length();
+        for (int i = 0; i <= last; i += SPECIES.length()) {
+            VectorMask<Long> match = diff.compare(VectorOperators.EQ, LongVector.fromArray(SPECIES, changed, i))
+                    .and(pegs.compare(VectorOperators.EQ, LongVector.fromArray(SPECIES, emptied, i)));
+            if (i == last) {
+                match = match.and(lastLanes);
+            }
+            if (match.anyTrue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean vectorized() {
+        return true;
+    }
+}